@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.benchmarks;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import javassist.Modifier;
+import javassist.NotFoundException;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.annotation.Annotation;
+
+/**
+ * Synthetic bean archive with a test class injecting the root of a binary tree of beans.
+ * <p>
+ * Every bean injects its children, so discovery has to follow all injection points to find the whole graph.
+ */
+final class BeanGraph implements Closeable {
+
+    static final String PACKAGE = "io.github.cdiunit.benchmarks.generated";
+
+    static final String TEST_CLASS = PACKAGE + ".SyntheticTest";
+
+    private static final String BEANS_XML = "<beans xmlns=\"https://jakarta.ee/xml/ns/jakartaee\""
+            + " version=\"3.0\" bean-discovery-mode=\"all\"/>\n";
+
+    private final Path directory;
+
+    private final URLClassLoader classLoader;
+
+    private BeanGraph(Path directory) throws IOException {
+        this.directory = directory;
+        this.classLoader = new URLClassLoader(new URL[] { getUrl() }, BeanGraph.class.getClassLoader());
+    }
+
+    /**
+     * Generate the bean archive into a temporary directory.
+     *
+     * @param size number of beans
+     * @return the bean archive
+     */
+    static BeanGraph generate(int size) throws IOException, CannotCompileException, NotFoundException {
+        final Path directory = Files.createTempDirectory("cdi-unit-benchmark");
+        final ClassPool pool = new ClassPool(true);
+        pool.appendClassPath(new LoaderClassPath(BeanGraph.class.getClassLoader()));
+
+        final CtClass[] beans = new CtClass[size];
+        for (int i = 0; i < size; i++) {
+            beans[i] = newClass(pool, PACKAGE + ".Bean" + i);
+        }
+        for (int i = 0; i < size; i++) {
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                addInjectedField(beans[i], beans[child], "bean" + child);
+            }
+        }
+
+        final CtClass test = newClass(pool, TEST_CLASS);
+        if (size > 0) {
+            addInjectedField(test, beans[0], "root");
+        }
+        final CtMethod testMethod = CtNewMethod.make("public void test() {}", test);
+        testMethod.getMethodInfo().addAttribute(annotation(test, "org.junit.Test"));
+        test.addMethod(testMethod);
+
+        for (CtClass bean : beans) {
+            bean.writeFile(directory.toString());
+        }
+        test.writeFile(directory.toString());
+
+        final Path beansXml = directory.resolve("META-INF").resolve("beans.xml");
+        Files.createDirectories(beansXml.getParent());
+        Files.write(beansXml, BEANS_XML.getBytes(StandardCharsets.UTF_8));
+        return new BeanGraph(directory);
+    }
+
+    private static CtClass newClass(ClassPool pool, String name) throws CannotCompileException {
+        final CtClass cls = pool.makeClass(name);
+        cls.setModifiers(Modifier.PUBLIC);
+        cls.addConstructor(CtNewConstructor.defaultConstructor(cls));
+        return cls;
+    }
+
+    private static void addInjectedField(CtClass owner, CtClass type, String name) throws CannotCompileException {
+        final CtField field = new CtField(type, name, owner);
+        field.getFieldInfo().addAttribute(annotation(owner, "jakarta.inject.Inject"));
+        owner.addField(field);
+    }
+
+    private static AnnotationsAttribute annotation(CtClass owner, String annotationType) {
+        final ConstPool constPool = owner.getClassFile().getConstPool();
+        final AnnotationsAttribute attribute = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
+        attribute.addAnnotation(new Annotation(annotationType, constPool));
+        return attribute;
+    }
+
+    URL getUrl() throws IOException {
+        return directory.toUri().toURL();
+    }
+
+    ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    Class<?> getTestClass() throws ClassNotFoundException {
+        return classLoader.loadClass(TEST_CLASS);
+    }
+
+    Method getTestMethod() throws ClassNotFoundException, NoSuchMethodException {
+        return getTestClass().getMethod("test");
+    }
+
+    @Override
+    public void close() throws IOException {
+        classLoader.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.cdiunit.internal.TestConfiguration;
+import io.github.cdiunit.internal.WeldHelper;
+
+/**
+ * Discovery and Weld bootstrap of synthetic bean graphs, the discovery cache is disabled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dcdi-unit.discovery.cache-size=0")
+public class BootstrapBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    int size;
+
+    private BeanGraph graph;
+
+    private ClassLoader previousClassLoader;
+
+    TestConfiguration testConfiguration;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        graph = BeanGraph.generate(size);
+        previousClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(graph.getClassLoader());
+        testConfiguration = new TestConfiguration(graph.getTestClass(), graph.getTestMethod());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Thread.currentThread().setContextClassLoader(previousClassLoader);
+        graph.close();
+    }
+
+    @Benchmark
+    public Weld configureWeld() {
+        return WeldHelper.configureWeld(testConfiguration);
+    }
+
+    @Benchmark
+    public WeldContainer initialize(ConfiguredWeld configured) {
+        return WeldHelper.initialize(configured.weld, testConfiguration);
+    }
+
+    /**
+     * Weld configured for every invocation of {@link #initialize(ConfiguredWeld)}.
+     */
+    @State(Scope.Thread)
+    public static class ConfiguredWeld {
+
+        Weld weld;
+
+        @Setup(Level.Invocation)
+        public void configure(BootstrapBenchmark benchmark) {
+            weld = WeldHelper.configureWeld(benchmark.testConfiguration);
+        }
+
+        @TearDown(Level.Invocation)
+        public void shutdown() {
+            weld.shutdown();
+        }
+
+    }
+
+}
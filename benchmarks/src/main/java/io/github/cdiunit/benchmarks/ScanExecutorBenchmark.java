@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.benchmarks;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.cdiunit.internal.CachingClassGraphScanner;
+import io.github.cdiunit.internal.DefaultBeanArchiveScanner;
+import io.github.cdiunit.internal.ScanCache;
+
+/**
+ * Cold classpath scans with the scan executor settings, every combination runs in its own fork.
+ * <p>
+ * The synthetic bean archive is generated in {@code java.io.tmpdir}, point it to the file system to compare, e.g.
+ * {@code -jvmArgsAppend -Djava.io.tmpdir=/mnt/overlay}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScanExecutorBenchmark {
+
+    @Param({ "pool", "virtual", "caller" })
+    String executor;
+
+    @Param({ "2", "4", "8" })
+    int threads;
+
+    @Param({ "10000" })
+    int size;
+
+    private BeanGraph graph;
+
+    private URL[] archive;
+
+    private ClassLoader previousClassLoader;
+
+    private CachingClassGraphScanner scanner;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // read when the first scan starts
+        System.setProperty("cdi-unit.scanner.executor", executor);
+        System.setProperty("cdi-unit.scanner.threads", Integer.toString(threads));
+        graph = BeanGraph.generate(size);
+        archive = new URL[] { graph.getUrl() };
+        previousClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(graph.getClassLoader());
+        scanner = new CachingClassGraphScanner(new DefaultBeanArchiveScanner());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Thread.currentThread().setContextClassLoader(previousClassLoader);
+        graph.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        ScanCache.getInstance().clear();
+    }
+
+    @Benchmark
+    public Collection<URL> getBeanArchives() {
+        return scanner.getBeanArchives();
+    }
+
+    @Benchmark
+    public List<String> getClassNamesForClasspath() {
+        return scanner.getClassNamesForClasspath(archive);
+    }
+
+}
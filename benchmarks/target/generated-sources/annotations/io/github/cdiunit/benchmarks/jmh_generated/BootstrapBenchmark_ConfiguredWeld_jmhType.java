@@ -0,0 +1,4 @@
+package io.github.cdiunit.benchmarks.jmh_generated;
+public class BootstrapBenchmark_ConfiguredWeld_jmhType extends BootstrapBenchmark_ConfiguredWeld_jmhType_B3 {
+}
+
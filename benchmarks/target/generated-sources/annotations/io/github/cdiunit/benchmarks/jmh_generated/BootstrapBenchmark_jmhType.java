@@ -0,0 +1,4 @@
+package io.github.cdiunit.benchmarks.jmh_generated;
+public class BootstrapBenchmark_jmhType extends BootstrapBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.github.cdiunit.benchmarks.jmh_generated;
+public class CdiRunnerBenchmark_jmhType extends CdiRunnerBenchmark_jmhType_B3 {
+}
+
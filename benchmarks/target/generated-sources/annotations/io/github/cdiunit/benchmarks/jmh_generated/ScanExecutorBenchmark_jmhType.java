@@ -0,0 +1,4 @@
+package io.github.cdiunit.benchmarks.jmh_generated;
+public class ScanExecutorBenchmark_jmhType extends ScanExecutorBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.github.cdiunit.benchmarks.jmh_generated;
+public class ScannerBenchmark_jmhType extends ScannerBenchmark_jmhType_B3 {
+}
+
@@ -22,7 +22,9 @@ import java.lang.annotation.Target;
 
 /**
  * <code>&#064;AdditionalClasspaths</code> adds all the classes in a particular classpath entry to the CDI environment that are
- * not discovered automatically.
+ * not discovered automatically. With {@code cdi-unit.scanner.bean-discovery-mode=true} the bean discovery mode of the
+ * classpath entry is honored: with {@code annotated} only classes with bean defining annotations are added, with
+ * {@code none} no classes are added.
  *
  * <pre>
  * &#064;RunWith(CdiRunner.class)
@@ -28,8 +28,14 @@ import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.Statement;
 
+import io.github.cdiunit.internal.ContainerPreloader;
+import io.github.cdiunit.internal.ContainerReset;
+import io.github.cdiunit.internal.ContainerShutdown;
+import io.github.cdiunit.internal.NonContextualInstance;
+import io.github.cdiunit.internal.SharedContainerPool;
 import io.github.cdiunit.internal.TestConfiguration;
 import io.github.cdiunit.internal.WeldHelper;
+import io.github.cdiunit.internal.jfr.InjectionEvent;
 import io.github.cdiunit.internal.junit4.ActivateScopes;
 
 /**
@@ -54,6 +60,8 @@ public class CdiRunner extends BlockJUnit4ClassRunner {
     private final Class<?> clazz;
     private Weld weld;
     private WeldContainer container;
+    private SharedContainerPool.Lease sharedContainer;
+    private NonContextualInstance<?> testInstance;
     private Throwable startupException;
     private FrameworkMethod frameworkMethod;
     private TestConfiguration testConfiguration;
@@ -72,18 +80,36 @@ public class CdiRunner extends BlockJUnit4ClassRunner {
     protected Object createTest() {
         testConfiguration.setTestMethod(frameworkMethod.getMethod());
         initWeld(testConfiguration);
-        return createTest(clazz);
+        final InjectionEvent event = new InjectionEvent();
+        event.begin();
+        final Object test = createTest(clazz);
+        event.setTest(testConfiguration);
+        event.commitWithTest();
+        return test;
     }
 
     private void initWeld(final TestConfiguration testConfig) {
-        if (weld != null) {
+        if (weld != null || sharedContainer != null) {
             return;
         }
 
         try {
-            weld = WeldHelper.configureWeld(testConfig);
+            final boolean shared = testConfig.getIsolationLevel() == IsolationLevel.SHARED;
+            final ContainerPreloader.PreloadedContainer preloaded = ContainerPreloader.INSTANCE.take(testConfig);
+            if (preloaded != null) {
+                weld = preloaded.getWeld();
+            } else if (!shared) {
+                weld = WeldHelper.configureWeld(testConfig);
+            }
             try {
-                container = weld.initialize();
+                if (shared) {
+                    sharedContainer = SharedContainerPool.INSTANCE.acquire(testConfig);
+                    container = sharedContainer.getContainer();
+                } else if (preloaded != null) {
+                    container = preloaded.getContainer();
+                } else {
+                    container = WeldHelper.initialize(weld, testConfig);
+                }
             } catch (Throwable e) {
                 if (startupException == null) {
                     startupException = e;
@@ -92,15 +118,34 @@ public class CdiRunner extends BlockJUnit4ClassRunner {
                     throw e;
                 }
             }
+            // the next test method takes the container initialized while this one runs
+            ContainerPreloader.INSTANCE.preload(testConfig);
         } catch (Throwable e) {
             startupException = new Exception("Unable to start weld", e);
         }
     }
 
     private <T> T createTest(Class<T> testClass) {
+        if (sharedContainer != null && !sharedContainer.isTestClassDeployed()) {
+            final var instance = NonContextualInstance.create(container.getBeanManager(), testClass);
+            testInstance = instance;
+            return instance.get();
+        }
         return container.select(testClass).get();
     }
 
+    private void shutdownWeld() {
+        if (sharedContainer != null) {
+            sharedContainer.close();
+            sharedContainer = null;
+            container = null;
+        }
+        if (weld != null) {
+            ContainerShutdown.INSTANCE.shutdown(weld, clazz);
+            weld = null;
+        }
+    }
+
     @Override
     protected Statement classBlock(RunNotifier notifier) {
         final Statement defaultStatement = super.classBlock(notifier);
@@ -109,16 +154,28 @@ public class CdiRunner extends BlockJUnit4ClassRunner {
             @Override
             public void evaluate() throws Throwable {
                 testConfiguration = createTestConfiguration();
-                if (testConfiguration.getIsolationLevel() == IsolationLevel.PER_CLASS) {
+                try {
+                    evaluateClass();
+                } finally {
+                    ContainerShutdown.INSTANCE.await(clazz);
+                }
+            }
+
+            private void evaluateClass() throws Throwable {
+                if (testConfiguration.getIsolationLevel() != IsolationLevel.PER_METHOD) {
                     try {
                         initWeld(testConfiguration);
                         defaultStatement.evaluate();
                     } finally {
-                        weld.shutdown();
-                        weld = null;
+                        shutdownWeld();
                     }
                 } else {
-                    defaultStatement.evaluate();
+                    ContainerPreloader.INSTANCE.preload(testConfiguration);
+                    try {
+                        defaultStatement.evaluate();
+                    } finally {
+                        ContainerPreloader.INSTANCE.discard(clazz);
+                    }
                 }
             }
 
@@ -153,9 +210,15 @@ public class CdiRunner extends BlockJUnit4ClassRunner {
                 try {
                     defaultStatement.evaluate();
                 } finally {
+                    if (testInstance != null) {
+                        testInstance.close();
+                        testInstance = null;
+                    }
                     if (isolationLevel == IsolationLevel.PER_METHOD) {
-                        weld.shutdown();
+                        ContainerShutdown.INSTANCE.shutdown(weld, clazz);
                         weld = null;
+                    } else if (isolationLevel == IsolationLevel.PER_METHOD_RESET) {
+                        ContainerReset.reset(container.getBeanManager());
                     }
                 }
 
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <code>&#064;IgnoredPackages</code> prevent classes of the matching packages from being automatically added to the CDI
+ * environment. The classes are neither loaded nor inspected by the discovery.
+ * <p>
+ * In patterns {@code *} matches a part of a single package name segment and {@code **} matches any number of segments.
+ * Patterns listed in the {@code cdi-unit.discovery.ignored-packages} property, comma separated, apply to all tests.
+ *
+ * <pre>
+ * &#064;RunWith(CdiRunner.class)
+ * &#064;IgnoredPackages("com.acme.infra.**") // the infrastructure layer and its subpackages are not discovered.
+ * class TestStarship {
+ *
+ *     &#064;Inject
+ *     Starship starship;
+ *
+ *     &#064;Produces
+ *     &#064;Mock
+ *     WarpDrive warpDrive; // com.acme.infra.WarpDrive
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface IgnoredPackages {
+
+    /**
+     * @return Package patterns to make undiscoverable during testing.
+     */
+    String[] value();
+
+}
@@ -32,6 +32,16 @@ import java.lang.annotation.Target;
  * in the same Weld instance. Each test method will still run in a separate instance of the test class itself, but
  * any injected application-scoped beans will be shared among the test methods.
  * </p>
+ * <p>
+ * When a test class is annotated with {@code @Isolation(IsolationLevel.PER_METHOD_RESET)}, all test methods are
+ * executed in the same Weld instance, which is reset after each test method: application-scoped beans are not
+ * shared among the test methods. See {@link IsolationLevel#PER_METHOD_RESET} for details.
+ * </p>
+ * <p>
+ * When a test class is annotated with {@code @Isolation(IsolationLevel.SHARED)}, the Weld instance is taken from the
+ * JVM-wide pool and may be reused by other test classes with the same deployment. Application-scoped beans are shared
+ * among all these test classes. See {@link IsolationLevel#SHARED} for details.
+ * </p>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
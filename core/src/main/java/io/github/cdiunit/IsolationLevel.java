@@ -24,5 +24,35 @@ public enum IsolationLevel {
     /**
      * In this isolation level, each test method will run in a separate Weld instance.
      */
-    PER_METHOD
+    PER_METHOD,
+
+    /**
+     * In this isolation level, all test methods of a test class will run in the same Weld instance, the instance is
+     * reset after each test method.
+     * <p>
+     * The reset destroys the contextual instances of all active contexts, closes requests and sessions opened with
+     * {@link ContextController} and deactivates contexts activated with {@link ActivateScopes}. Each test method gets
+     * fresh application-scoped beans as with {@link #PER_METHOD}, without the cost of a new Weld instance.
+     * </p>
+     * <p>
+     * Test runners without the test class lifecycle (TestNG listener and JUnit 4 rule) treat this level as
+     * {@link #PER_METHOD}.
+     * </p>
+     */
+    PER_METHOD_RESET,
+
+    /**
+     * In this isolation level, test classes will run in the Weld instance taken from the JVM-wide pool.
+     * The instance is shared with other test classes having the same deployment: bean classes, alternatives,
+     * interceptors, decorators and extensions.
+     * <p>
+     * Test classes declaring producers, disposers, observers or producer configurations are deployed as beans, so they
+     * share the Weld instance only with themselves. Other test classes are injected as non-contextual instances.
+     * </p>
+     * <p>
+     * The pool size is limited by the {@code cdi-unit.shared.max-containers} system property (4 by default).
+     * Least recently used Weld instances are shut down when the limit is exceeded, the rest are shut down at JVM exit.
+     * </p>
+     */
+    SHARED
 }
@@ -27,15 +27,19 @@ import org.testng.IHookable;
 import org.testng.ITestResult;
 
 import io.github.cdiunit.internal.BeanLifecycleHelper;
+import io.github.cdiunit.internal.ContainerShutdown;
+import io.github.cdiunit.internal.SharedContainerPool;
 import io.github.cdiunit.internal.TestConfiguration;
 import io.github.cdiunit.internal.WeldHelper;
 import io.github.cdiunit.internal.activatescopes.ScopesHelper;
+import io.github.cdiunit.internal.jfr.InjectionEvent;
 import io.github.cdiunit.internal.testng.NgInvocationContext;
 
 public class NgCdiListener implements IHookable {
 
     private Weld weld;
     private WeldContainer container;
+    private SharedContainerPool.Lease sharedContainer;
 
     @Override
     public void run(IHookCallBack callBack, ITestResult testResult) {
@@ -66,14 +70,23 @@ public class NgCdiListener implements IHookable {
 
     @SuppressWarnings("unchecked")
     private void initializeCdi(final TestConfiguration testConfig, final Object target) throws Throwable {
-        weld = WeldHelper.configureWeld(testConfig);
-
-        container = weld.initialize();
+        if (testConfig.getIsolationLevel() == IsolationLevel.SHARED) {
+            weld = null;
+            sharedContainer = SharedContainerPool.INSTANCE.acquire(testConfig);
+            container = sharedContainer.getContainer();
+        } else {
+            weld = WeldHelper.configureWeld(testConfig);
+            container = WeldHelper.initialize(weld, testConfig);
+        }
+        final InjectionEvent event = new InjectionEvent();
+        event.begin();
         BeanManager beanManager = container.getBeanManager();
         CreationalContext creationalContext = beanManager.createCreationalContext(null);
         AnnotatedType annotatedType = beanManager.createAnnotatedType(testConfig.getTestClass());
         InjectionTarget injectionTarget = beanManager.getInjectionTargetFactory(annotatedType).createInjectionTarget(null);
         injectionTarget.inject(target, creationalContext);
+        event.setTest(testConfig);
+        event.commitWithTest();
 
         ScopesHelper.activateContexts(container.getBeanManager(), testConfig.getTestMethod());
         BeanLifecycleHelper.invokePostConstruct(testConfig.getTestClass(), target);
@@ -84,9 +97,15 @@ public class NgCdiListener implements IHookable {
         if (container != null) {
             ScopesHelper.deactivateContexts(container.getBeanManager(), testConfig.getTestMethod());
         }
+        if (sharedContainer != null) {
+            sharedContainer.close();
+            sharedContainer = null;
+        }
         if (weld != null) {
-            weld.shutdown();
+            ContainerShutdown.INSTANCE.shutdown(weld, testConfig.getTestClass());
         }
+        // no test class lifecycle here, report failures of the previous shutdowns
+        ContainerShutdown.INSTANCE.checkCompleted(testConfig.getTestClass());
     }
 
 }
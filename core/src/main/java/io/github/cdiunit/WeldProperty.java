@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit;
+
+import java.lang.annotation.*;
+
+/**
+ * Weld configuration property of the test container, forwarded to {@code Weld.property(name, value)}.
+ * <p>
+ * Properties declared on the test class take precedence over the {@code org.jboss.weld.*} entries of the
+ * {@code cdi-unit.properties} classpath file and the CDI-Unit defaults.
+ *
+ * <pre>
+ * &#064;RunWith(CdiRunner.class)
+ * &#064;WeldProperty(name = "org.jboss.weld.executor.threadPoolSize", value = "4")
+ * class TestStarship {
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Inherited
+@Repeatable(WeldProperties.class)
+public @interface WeldProperty {
+
+    /**
+     * @return Weld configuration key, e.g. {@code org.jboss.weld.bootstrap.concurrentDeployment}
+     */
+    String name();
+
+    String value();
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bean discovery mode of a bean archive, as declared by its {@code META-INF/beans.xml}.
+ * <p>
+ * Archives without {@code beans.xml}, with an empty one or without the {@code bean-discovery-mode} attribute are
+ * treated as {@link #ALL}.
+ */
+enum BeanDiscoveryMode {
+
+    ALL,
+    ANNOTATED,
+    NONE;
+
+    private static final Logger log = LoggerFactory.getLogger(BeanDiscoveryMode.class);
+
+    private static final String BEANS_XML = "META-INF/beans.xml";
+
+    private static final Map<String, BeanDiscoveryMode> modes = new ConcurrentHashMap<>();
+
+    static BeanDiscoveryMode of(URL archive) {
+        return modes.computeIfAbsent(archive.toString(), key -> read(archive));
+    }
+
+    private static BeanDiscoveryMode read(URL archive) {
+        try {
+            final byte[] beansXml = readBeansXml(archive);
+            if (beansXml == null || new String(beansXml, StandardCharsets.UTF_8).isBlank()) {
+                return ALL;
+            }
+            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setExpandEntityReferences(false);
+            final String mode = factory.newDocumentBuilder()
+                    .parse(new ByteArrayInputStream(beansXml))
+                    .getDocumentElement()
+                    .getAttribute("bean-discovery-mode");
+            return mode.isEmpty() ? ALL : valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (Exception e) {
+            log.debug("Unable to read the bean discovery mode of {}", archive, e);
+            return ALL;
+        }
+    }
+
+    private static byte[] readBeansXml(URL archive) throws Exception {
+        if (!"file".equals(archive.getProtocol())) {
+            return null;
+        }
+        final Path path = Paths.get(archive.toURI());
+        if (Files.isDirectory(path)) {
+            final Path beansXml = path.resolve(BEANS_XML);
+            return Files.isRegularFile(beansXml) ? Files.readAllBytes(beansXml) : null;
+        }
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            final ZipEntry entry = zip.getEntry(BEANS_XML);
+            if (entry == null) {
+                return null;
+            }
+            try (InputStream in = zip.getInputStream(entry)) {
+                return in.readAllBytes();
+            }
+        } catch (IOException e) {
+            log.debug("Unable to open {}", archive, e);
+            return null;
+        }
+    }
+
+}
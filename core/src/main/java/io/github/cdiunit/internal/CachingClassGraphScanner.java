@@ -17,39 +17,78 @@ package io.github.cdiunit.internal;
 
 import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.NormalScope;
+import jakarta.enterprise.inject.Stereotype;
+
+import io.github.cdiunit.internal.jfr.ScanEvent;
+import io.github.classgraph.AnnotationInfo;
 import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
 import io.github.classgraph.ScanResult;
 
 public class CachingClassGraphScanner implements ClasspathScanner {
 
+    static final PersistentScanCache persistentCache = PersistentScanCache.fromProperties();
+
+    static final String INDEX_PROPERTY = "scanner.index";
+
+    /**
+     * Whether the bean archives are scanned once into a {@link ClasspathIndex} answering all class name queries.
+     */
+    private final boolean indexed = CdiUnitProperties.getBoolean(INDEX_PROPERTY, false)
+            || CdiUnitProperties.getBoolean(WATCH_PROPERTY, false);
+
+    static final String WATCH_PROPERTY = "scanner.watch";
+
     /**
-     * The default number of worker threads to use while scanning. This number gave the best results on a relatively
-     * modern laptop with SSD, while scanning a large classpath.
+     * Whether the index follows the changes of the directory bean archives instead of being rebuilt.
      */
-    static final int DEFAULT_NUM_WORKER_THREADS = Math.max(
-            // Always scan with at least 2 threads
-            2, //
-            (int) Math.ceil(
-                    // Num IO threads (top out at 4, since most I/O devices won't scale better than this)
-                    Math.min(4.0f, Runtime.getRuntime().availableProcessors() * 0.75f)
-                            // Num scanning threads (higher than available processors, because some threads can be blocked)
-                            + // Num scanning threads (higher than available processors, because some threads can be blocked)
-                            Runtime.getRuntime().availableProcessors() * 1.25f) //
-    );
+    private final boolean watched = CdiUnitProperties.getBoolean(WATCH_PROPERTY, false);
+
+    // watching indexes hold the watch services, so they are not evicted
+    private static final Map<Object, ClasspathIndex> watchedIndexes = new ConcurrentHashMap<>();
 
-    static final ExecutorService scanExecutor = Executors.newWorkStealingPool(DEFAULT_NUM_WORKER_THREADS);
+    // class values do not retain the class loaders of the classes
+    private static final ClassValue<Membership> memberships = new ClassValue<>() {
+
+        @Override
+        protected Membership computeValue(Class<?> type) {
+            return new Membership();
+        }
 
-    static ConcurrentHashMap<Object, Object> cache = new ConcurrentHashMap<>();
+    };
+
+    static final String DISCOVERY_MODE_PROPERTY = "scanner.bean-discovery-mode";
+
+    /**
+     * Whether the bean discovery mode of the archives is honored when scanning for bean classes, all classes of the
+     * archives are bean classes by default.
+     */
+    private final boolean honorDiscoveryMode = CdiUnitProperties.getBoolean(DISCOVERY_MODE_PROPERTY, false);
+
+    private static final Set<String> BEAN_DEFINING_ANNOTATIONS = Set.of(
+            Dependent.class.getName(),
+            "jakarta.interceptor.Interceptor",
+            "jakarta.decorator.Decorator");
+
+    private static final String EXTENSION = "jakarta.enterprise.inject.spi.Extension";
 
     private final BeanArchiveScanner beanArchiveScanner;
 
@@ -57,19 +96,59 @@ public class CachingClassGraphScanner implements ClasspathScanner {
         this.beanArchiveScanner = beanArchiveScanner;
     }
 
-    @SuppressWarnings("unchecked")
     private <K, V> V computeIfAbsent(final K k, final Supplier<V> computeValue) {
-        return (V) cache.computeIfAbsent(k, o -> computeValue.get());
+        return ScanCache.getInstance().computeIfAbsent(k, computeValue);
     }
 
     private List<URL> getClasspathURLs() {
-        return computeIfAbsent(getClass().getClassLoader(), this::computeClasspathUrls);
+        return computeIfAbsent(getClass().getClassLoader(), () -> recordScan("classpath", null, this::computeClasspathUrls));
+    }
+
+    /**
+     * The code source location of a class never changes, so it is resolved once per class.
+     */
+    @Override
+    public URL getClasspathURL(Class<?> cls) {
+        if (cls == null) {
+            return null;
+        }
+        final Membership membership = memberships.get(cls);
+        if (!membership.located) {
+            membership.location = ClasspathScanner.super.getClasspathURL(cls);
+            membership.located = true;
+        }
+        return membership.location;
+    }
+
+    /**
+     * The verdict is kept per class until the scan cache drops any result.
+     */
+    @Override
+    public boolean isContainedInBeanArchive(Class<?> cls) {
+        final long generation = ScanCache.getInstance().getGeneration();
+        final Membership membership = memberships.get(cls);
+        final Verdict verdict = membership.verdict;
+        if (verdict != null && verdict.generation == generation) {
+            return verdict.beanArchive;
+        }
+        final boolean beanArchive = ClasspathScanner.super.isContainedInBeanArchive(cls);
+        membership.verdict = new Verdict(generation, beanArchive);
+        return beanArchive;
     }
 
     @Override
     public Collection<URL> getBeanArchives() {
         final List<URL> urls = getClasspathURLs();
-        return computeIfAbsent(computeKey(urls.stream()), () -> findBeanArchives(urls));
+        return computeIfAbsent(computeKey(urls.stream()), () -> loadBeanArchives(urls));
+    }
+
+    private Collection<URL> loadBeanArchives(final List<URL> urls) {
+        // Surefire manifest-only jars get a new name in every fork, their entries are already listed in urls
+        final List<URL> sources = urls.stream()
+                .filter(url -> !url.getPath().matches(".*/surefirebooter[^/]*\\.jar"))
+                .collect(Collectors.toList());
+        return new HashSet<>(persistentCache.computeUrlsIfAbsent("archives:" + computeKey(sources.stream()), sources,
+                () -> recordScan("bean-archives", null, () -> findBeanArchives(urls))));
     }
 
     private Collection<URL> findBeanArchives(final List<URL> urls) {
@@ -84,14 +163,115 @@ public class CachingClassGraphScanner implements ClasspathScanner {
         try (ScanResult scan = new ClassGraph()
                 .disableNestedJarScanning()
                 .disableModuleScanning()
-                .scan(scanExecutor, DEFAULT_NUM_WORKER_THREADS)) {
+                .scan(ScanExecutor.getExecutor(), ScanExecutor.getParallelism())) {
             return scan.getClasspathURLs();
         }
     }
 
+    private ClasspathIndex getIndex() {
+        final Collection<URL> beanArchives = getBeanArchives();
+        final Object key = "index:" + computeKey(beanArchives.stream());
+        if (watched) {
+            final ClasspathIndex index = watchedIndexes.computeIfAbsent(key, k -> recordScan("index", null,
+                    () -> ClasspathIndex.watch(this, beanArchives), ClasspathIndex::size));
+            index.refresh(this);
+            return index;
+        }
+        return computeIfAbsent(key, () -> recordScan("index", null,
+                () -> ClasspathIndex.build(this, beanArchives), ClasspathIndex::size));
+    }
+
     @Override
     public List<String> getClassNamesForClasspath(URL[] urls) {
-        return computeIfAbsent(computeKey(Arrays.stream(urls)), () -> this.computeClassNamesForClasspath(urls));
+        if (indexed) {
+            final ClasspathIndex index = getIndex();
+            if (Arrays.stream(urls).allMatch(url -> index.contains(this, url))) {
+                return index.getClassNamesForClasspath(this, urls);
+            }
+        }
+        final Object key = computeKey(Arrays.stream(urls));
+        return computeIfAbsent(key, () -> persistentCache.computeIfAbsent("classes:" + key, Arrays.asList(urls),
+                () -> recordScan("classes", key, () -> this.computeClassNamesForClasspath(urls))));
+    }
+
+    @Override
+    public List<String> getBeanClassNamesForClasspath(URL[] urls) {
+        if (!honorDiscoveryMode) {
+            return getClassNamesForClasspath(urls);
+        }
+        final Map<BeanDiscoveryMode, List<URL>> modes = Arrays.stream(urls)
+                .collect(Collectors.groupingBy(BeanDiscoveryMode::of, () -> new EnumMap<>(BeanDiscoveryMode.class),
+                        Collectors.toList()));
+        if (modes.size() == 1 && modes.containsKey(BeanDiscoveryMode.ALL)) {
+            return getClassNamesForClasspath(urls);
+        }
+        final Set<String> result = new TreeSet<>();
+        final List<URL> all = modes.get(BeanDiscoveryMode.ALL);
+        if (all != null) {
+            result.addAll(getClassNamesForClasspath(all.toArray(URL[]::new)));
+        }
+        final List<URL> annotated = modes.get(BeanDiscoveryMode.ANNOTATED);
+        if (annotated != null) {
+            final Object key = computeKey(annotated.stream());
+            result.addAll(computeIfAbsent("annotated:" + key, () -> persistentCache.computeIfAbsent(
+                    "annotated:" + key, annotated,
+                    () -> recordScan("annotated", key, () -> computeAnnotatedClassNames(annotated)))));
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Scan the classes of archives with the annotated bean discovery mode without loading them.
+     * Keeps the classes with bean defining annotations, extensions and annotation types.
+     */
+    private static List<String> computeAnnotatedClassNames(List<URL> urls) {
+        final Map<String, Boolean> beanDefining = new HashMap<>();
+        try (ScanResult scan = new ClassGraph()
+                .disableNestedJarScanning()
+                .enableClassInfo()
+                .enableAnnotationInfo()
+                .ignoreClassVisibility()
+                .overrideClasspath(urls)
+                .scan(ScanExecutor.getExecutor(), ScanExecutor.getParallelism())) {
+            return scan.getAllClasses().stream()
+                    .filter(classInfo -> classInfo.isAnnotation()
+                            || classInfo.implementsInterface(EXTENSION)
+                            || classInfo.getAnnotationInfo().stream()
+                                    .map(AnnotationInfo::getName)
+                                    .anyMatch(name -> beanDefining.computeIfAbsent(name,
+                                            CachingClassGraphScanner::isBeanDefiningAnnotation)))
+                    .map(ClassInfo::getName)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isBeanDefiningAnnotation(String annotationName) {
+        if (BEAN_DEFINING_ANNOTATIONS.contains(annotationName)) {
+            return true;
+        }
+        try {
+            // annotation types only, the annotated classes stay unloaded
+            final Class<?> annotation = Class.forName(annotationName, false,
+                    CachingClassGraphScanner.class.getClassLoader());
+            return annotation.isAnnotationPresent(NormalScope.class) || annotation.isAnnotationPresent(Stereotype.class);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static <V extends Collection<?>> V recordScan(String operation, Object target, Supplier<V> scan) {
+        return recordScan(operation, target, scan, Collection::size);
+    }
+
+    private static <V> V recordScan(String operation, Object target, Supplier<V> scan, ToIntFunction<V> resultCount) {
+        final ScanEvent event = new ScanEvent();
+        event.begin();
+        final V result = scan.get();
+        event.operation = operation;
+        event.target = target == null ? null : target.toString();
+        event.resultCount = resultCount.applyAsInt(result);
+        event.commitWithTest();
+        return result;
     }
 
     private Object computeKey(final Stream<URL> urls) {
@@ -106,14 +286,22 @@ public class CachingClassGraphScanner implements ClasspathScanner {
                 .enableClassInfo()
                 .ignoreClassVisibility()
                 .overrideClasspath(Arrays.asList(urls))
-                .scan(scanExecutor, DEFAULT_NUM_WORKER_THREADS)) {
+                .scan(ScanExecutor.getExecutor(), ScanExecutor.getParallelism())) {
             return scan.getAllClasses().getNames();
         }
     }
 
     @Override
     public List<String> getClassNamesForPackage(String packageName, URL url) {
-        return computeIfAbsent(computeKey(packageName, url), () -> this.computeClassNamesForPackage(packageName, url));
+        if (indexed) {
+            final ClasspathIndex index = getIndex();
+            if (index.contains(this, url)) {
+                return index.getClassNamesForPackage(this, packageName, url);
+            }
+        }
+        final Object key = computeKey(packageName, url);
+        return computeIfAbsent(key, () -> persistentCache.computeIfAbsent("package:" + key, List.of(url),
+                () -> recordScan("package", key, () -> this.computeClassNamesForPackage(packageName, url))));
     }
 
     private Object computeKey(final String packageName, final URL url) {
@@ -127,9 +315,35 @@ public class CachingClassGraphScanner implements ClasspathScanner {
                 .ignoreClassVisibility()
                 .overrideClasspath(url)
                 .acceptPackagesNonRecursive(packageName)
-                .scan(scanExecutor, DEFAULT_NUM_WORKER_THREADS)) {
+                .scan(ScanExecutor.getExecutor(), ScanExecutor.getParallelism())) {
             return scan.getAllClasses().getNames();
         }
     }
 
+    /**
+     * Bean archive membership of a class.
+     */
+    private static final class Membership {
+
+        private volatile boolean located;
+
+        private volatile URL location;
+
+        private volatile Verdict verdict;
+
+    }
+
+    private static final class Verdict {
+
+        private final long generation;
+
+        private final boolean beanArchive;
+
+        private Verdict(long generation, boolean beanArchive) {
+            this.generation = generation;
+            this.beanArchive = beanArchive;
+        }
+
+    }
+
 }
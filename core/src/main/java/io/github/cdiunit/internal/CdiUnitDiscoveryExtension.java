@@ -58,7 +58,7 @@ public class CdiUnitDiscoveryExtension implements DiscoveryExtension {
             return;
         }
         final List<Class<?>> baseClasses = Arrays.stream(additionalClasspaths.value()).collect(Collectors.toList());
-        context.scanBeanArchives(baseClasses)
+        context.scanBeanArchiveClassNames(baseClasses)
                 .forEach(context::processBean);
     }
 
@@ -67,7 +67,7 @@ public class CdiUnitDiscoveryExtension implements DiscoveryExtension {
             return;
         }
         final List<Class<?>> baseClasses = Arrays.stream(additionalPackages.value()).collect(Collectors.toList());
-        context.scanPackages(baseClasses)
+        context.scanPackageClassNames(baseClasses)
                 .forEach(context::processBean);
     }
 
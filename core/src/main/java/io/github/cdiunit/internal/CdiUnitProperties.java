@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.github.cdiunit.internal.ExceptionUtils.illegalInstantiation;
+
+/**
+ * Access to CDI-Unit tuning properties.
+ * <p>
+ * Properties are read from the system properties and the {@value #FILE} classpath file, system properties take
+ * precedence. All names share the {@value #PREFIX} prefix.
+ * <p>
+ * The file may also contain Weld configuration properties, see {@link #getFileProperties(String)}.
+ */
+public final class CdiUnitProperties {
+
+    private static final Logger log = LoggerFactory.getLogger(CdiUnitProperties.class);
+
+    public static final String PREFIX = "cdi-unit.";
+
+    public static final String FILE = "cdi-unit.properties";
+
+    private CdiUnitProperties() throws IllegalAccessException {
+        illegalInstantiation();
+    }
+
+    /**
+     * Lookup the property value.
+     *
+     * @param name property name without the {@value #PREFIX} prefix
+     * @return property value if defined, null otherwise
+     */
+    public static String get(String name) {
+        final String value = System.getProperty(PREFIX + name);
+        return value != null ? value : FileProperties.PROPERTIES.getProperty(PREFIX + name);
+    }
+
+    public static String get(String name, String defaultValue) {
+        final String value = get(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        final String value = get(name, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public static int getInt(String name, int defaultValue) {
+        final String value = get(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring invalid value '{}' of {}{}, using {}", value, PREFIX, name, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Lookup the entries of the {@value #FILE} classpath file.
+     *
+     * @param namePrefix full name prefix of the entries, e.g. {@code org.jboss.weld.}
+     * @return entries with names starting with the prefix, sorted by name
+     */
+    public static Map<String, String> getFileProperties(String namePrefix) {
+        final Map<String, String> result = new TreeMap<>();
+        for (String name : FileProperties.PROPERTIES.stringPropertyNames()) {
+            if (name.startsWith(namePrefix)) {
+                result.put(name, FileProperties.PROPERTIES.getProperty(name).trim());
+            }
+        }
+        return result;
+    }
+
+    private static final class FileProperties {
+
+        static final Properties PROPERTIES = load();
+
+        /**
+         * Merge all files found on the classpath, the first entry found wins, e.g. test resources over main ones.
+         */
+        private static Properties load() {
+            final Properties result = new Properties();
+            try {
+                final Enumeration<URL> resources = CdiUnitProperties.class.getClassLoader().getResources(FILE);
+                while (resources.hasMoreElements()) {
+                    final URL resource = resources.nextElement();
+                    final Properties properties = new Properties();
+                    try (InputStream in = resource.openStream()) {
+                        properties.load(in);
+                    }
+                    properties.forEach(result::putIfAbsent);
+                    log.debug("Loaded {}", resource);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to read {}, using system properties only", FILE, e);
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.github.classgraph.AnnotationInfoList;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.FieldInfo;
+import io.github.classgraph.MethodInfo;
+import io.github.classgraph.MethodParameterInfo;
+import io.github.classgraph.ScanResult;
+
+/**
+ * Class file metadata of the bean archives, read without loading the classes.
+ * <p>
+ * Used by the metadata discovery engine to decide the discovery candidates and to skip the reflection over the members
+ * of classes which have nothing to discover there.
+ * <p>
+ * Indexes are kept in the {@link ScanCache} and dropped with the other scan results, or when the watched bean
+ * archives change.
+ */
+final class ClassMetadataIndex {
+
+    // field types the discovery extensions resolve without an annotation on the field
+    private static final List<String> INDIRECT_FIELD_TYPES = List.of(
+            "Ljakarta/inject/Provider;",
+            "Ljakarta/inject/Provider<",
+            "Ljakarta/enterprise/inject/Instance;",
+            "Ljakarta/enterprise/inject/Instance<");
+
+    // class name to whether the class declares members to discover
+    private final Map<String, Boolean> classes;
+
+    private ClassMetadataIndex(Map<String, Boolean> classes) {
+        this.classes = classes;
+    }
+
+    static ClassMetadataIndex of(ClasspathScanner scanner) {
+        final List<URL> archives = scanner.getBeanArchives().stream()
+                .sorted(Comparator.comparing(URL::toString))
+                .collect(Collectors.toList());
+        final String key = archives.stream()
+                .map(URL::toString)
+                .collect(Collectors.joining(File.pathSeparator));
+        return ScanCache.getInstance().computeIfAbsent(ScanCache.DERIVED_PREFIX + "metadata:" + key,
+                () -> scan(archives));
+    }
+
+    boolean contains(String className) {
+        return classes.containsKey(className);
+    }
+
+    boolean hasDiscoverableMembers(String className) {
+        return classes.getOrDefault(className, Boolean.TRUE);
+    }
+
+    int size() {
+        return classes.size();
+    }
+
+    private static ClassMetadataIndex scan(List<URL> archives) {
+        final Map<String, Boolean> classes = new HashMap<>();
+        if (archives.isEmpty()) {
+            return new ClassMetadataIndex(classes);
+        }
+        try (ScanResult scan = new ClassGraph()
+                .disableNestedJarScanning()
+                .enableClassInfo()
+                .enableFieldInfo()
+                .enableMethodInfo()
+                .enableAnnotationInfo()
+                .ignoreClassVisibility()
+                .ignoreFieldVisibility()
+                .ignoreMethodVisibility()
+                .overrideClasspath(archives)
+                .scan(ScanExecutor.getExecutor(), ScanExecutor.getParallelism())) {
+            for (ClassInfo classInfo : scan.getAllClasses()) {
+                classes.put(classInfo.getName(), hasDiscoverableMembers(classInfo));
+            }
+        }
+        return new ClassMetadataIndex(classes);
+    }
+
+    private static boolean hasDiscoverableMembers(ClassInfo classInfo) {
+        for (FieldInfo field : classInfo.getDeclaredFieldInfo()) {
+            if (isAnnotated(field.getAnnotationInfo())) {
+                return true;
+            }
+            final String descriptor = field.getTypeDescriptorStr();
+            if (INDIRECT_FIELD_TYPES.stream().anyMatch(descriptor::startsWith)) {
+                return true;
+            }
+        }
+        for (MethodInfo method : classInfo.getDeclaredMethodInfo()) {
+            if (isAnnotated(method.getAnnotationInfo())) {
+                return true;
+            }
+            for (MethodParameterInfo parameter : method.getParameterInfo()) {
+                if (isAnnotated(parameter.getAnnotationInfo())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAnnotated(AnnotationInfoList annotations) {
+        return annotations != null && !annotations.isEmpty();
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+
+/**
+ * Class names of the bean archives by classpath entry and package, built by a single scan.
+ * <p>
+ * Classpath entries are identified by their real URLs, see {@link ClasspathScanner#getRealURL(URL)}.
+ * <p>
+ * A watching index follows the changes of the directory entries: {@link #refresh(ClasspathScanner)} rescans only the
+ * packages changed since the last refresh.
+ */
+final class ClasspathIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ClasspathIndex.class);
+
+    // classpath entry to package to class names
+    private final Map<String, Map<String, List<String>>> classNames;
+
+    // null unless the directory entries are watched
+    private final ClasspathWatcher watcher;
+
+    private ClasspathIndex(Map<String, Map<String, List<String>>> classNames, ClasspathWatcher watcher) {
+        this.classNames = classNames;
+        this.watcher = watcher;
+    }
+
+    static ClasspathIndex build(ClasspathScanner scanner, Collection<URL> urls) {
+        return new ClasspathIndex(scan(scanner, urls, null), null);
+    }
+
+    /**
+     * Build the index and watch its directory entries.
+     *
+     * @param scanner scanner to resolve the real URLs with
+     * @param urls classpath entries to index
+     * @return the watching index
+     */
+    static ClasspathIndex watch(ClasspathScanner scanner, Collection<URL> urls) {
+        ClasspathWatcher watcher = null;
+        try {
+            watcher = new ClasspathWatcher();
+            for (URL url : urls) {
+                final Path directory = toDirectory(url);
+                if (directory != null) {
+                    watcher.watch(url, directory);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to watch the classpath, changes are not detected", e);
+            watcher = null;
+        }
+        // watch before the scan so changes during the scan are not missed
+        return new ClasspathIndex(scan(scanner, urls, null), watcher);
+    }
+
+    private static Map<String, Map<String, List<String>>> scan(ClasspathScanner scanner, Collection<URL> urls,
+            String packageName) {
+        final Map<String, Map<String, List<String>>> classNames = new ConcurrentHashMap<>();
+        urls.forEach(url -> classNames.put(key(scanner, url), new ConcurrentHashMap<>()));
+        if (urls.isEmpty()) {
+            return classNames;
+        }
+        // classes of the same classpath entry share its key
+        final Map<String, String> keys = new HashMap<>();
+        final ClassGraph classGraph = new ClassGraph()
+                .disableNestedJarScanning()
+                .enableClassInfo()
+                .ignoreClassVisibility()
+                .overrideClasspath(urls);
+        if (packageName != null) {
+            classGraph.acceptPackagesNonRecursive(packageName);
+        }
+        try (ScanResult scan = classGraph.scan(ScanExecutor.getExecutor(), ScanExecutor.getParallelism())) {
+            // classes are sorted by name, so are the lists
+            for (ClassInfo classInfo : scan.getAllClasses()) {
+                final URL url = classInfo.getClasspathElementURL();
+                final String key = keys.computeIfAbsent(url.toString(), k -> key(scanner, url));
+                classNames.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(classInfo.getPackageName(), k -> new ArrayList<>())
+                        .add(classInfo.getName());
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Rescan the packages changed since the last refresh, no-op unless the index is watching.
+     *
+     * @param scanner scanner to resolve the real URLs with
+     */
+    void refresh(ClasspathScanner scanner) {
+        if (watcher == null) {
+            return;
+        }
+        final Set<ClasspathWatcher.Change> changes = watcher.poll();
+        for (ClasspathWatcher.Change change : changes) {
+            final String key = key(scanner, change.url);
+            final Map<String, List<String>> rescanned = scan(scanner, List.of(change.url), change.packageName)
+                    .getOrDefault(key, Map.of());
+            if (change.packageName == null) {
+                log.debug("Rescanned {}", change.url);
+                classNames.put(key, new ConcurrentHashMap<>(rescanned));
+                continue;
+            }
+            log.debug("Rescanned package {} of {}", change.packageName, change.url);
+            final Map<String, List<String>> packages = classNames.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+            final List<String> names = rescanned.get(change.packageName);
+            if (names == null) {
+                packages.remove(change.packageName);
+            } else {
+                packages.put(change.packageName, names);
+            }
+        }
+        if (!changes.isEmpty()) {
+            ScanCache.getInstance().invalidateDerived();
+        }
+    }
+
+    int size() {
+        return classNames.values().stream()
+                .flatMap(packages -> packages.values().stream())
+                .mapToInt(List::size)
+                .sum();
+    }
+
+    boolean contains(ClasspathScanner scanner, URL url) {
+        return classNames.containsKey(key(scanner, url));
+    }
+
+    /**
+     * Names of the classes in the package of the classpath entry.
+     *
+     * @param scanner scanner to resolve the real URLs with
+     * @param packageName name of the package
+     * @param url the indexed classpath entry
+     * @return class names sorted by name
+     */
+    List<String> getClassNamesForPackage(ClasspathScanner scanner, String packageName, URL url) {
+        return classNames.getOrDefault(key(scanner, url), Map.of()).getOrDefault(packageName, List.of());
+    }
+
+    /**
+     * Names of the classes in the classpath entries.
+     *
+     * @param scanner scanner to resolve the real URLs with
+     * @param urls the indexed classpath entries
+     * @return distinct class names sorted by name
+     */
+    List<String> getClassNamesForClasspath(ClasspathScanner scanner, URL[] urls) {
+        return Arrays.stream(urls)
+                .map(url -> classNames.getOrDefault(key(scanner, url), Map.of()))
+                .flatMap(packages -> packages.values().stream())
+                .flatMap(Collection::stream)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static String key(ClasspathScanner scanner, URL url) {
+        return scanner.getRealURL(url).toString();
+    }
+
+    private static Path toDirectory(URL url) {
+        try {
+            final Path path = Paths.get(url.toURI());
+            return Files.isDirectory(path) ? path : null;
+        } catch (Exception e) {
+            // not a file system entry
+            return null;
+        }
+    }
+
+}
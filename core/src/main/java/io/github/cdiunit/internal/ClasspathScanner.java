@@ -37,6 +37,18 @@ public interface ClasspathScanner {
 
     List<String> getClassNamesForPackage(String packageName, URL url);
 
+    /**
+     * Names of the bean class candidates of the classpath entries.
+     * <p>
+     * Scanners may drop the classes which are not discovered in the entry according to its bean discovery mode.
+     *
+     * @param urls classpath entries to scan
+     * @return class names, in no particular order
+     */
+    default List<String> getBeanClassNamesForClasspath(URL[] urls) {
+        return getClassNamesForClasspath(urls);
+    }
+
     default URL getClasspathURL(Class<?> cls) {
         return Optional.ofNullable(cls)
                 .map(Class::getProtectionDomain)
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches the directories of classpath entries and reports the packages changed since the last poll.
+ */
+final class ClasspathWatcher {
+
+    private final WatchService watchService;
+
+    // watched directories by their keys
+    private final Map<WatchKey, Directory> directories = new HashMap<>();
+
+    ClasspathWatcher() throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Watch the directory classpath entry and all its sub-directories.
+     *
+     * @param url the classpath entry
+     * @param root directory of the classpath entry
+     * @throws IOException if the directories can not be watched
+     */
+    synchronized void watch(URL url, Path root) throws IOException {
+        register(url, root, root);
+    }
+
+    /**
+     * Take the changes since the last poll, does not wait for changes.
+     *
+     * @return changed packages, whole entries for changes which can not be attributed to packages
+     */
+    synchronized Set<Change> poll() {
+        final Set<Change> changes = new LinkedHashSet<>();
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            final Directory directory = directories.get(key);
+            if (directory == null) {
+                key.cancel();
+                continue;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                changes.addAll(changes(directory, event));
+            }
+            if (!key.reset()) {
+                // the directory is gone, its parent reports the deletion
+                directories.remove(key);
+            }
+        }
+        return changes;
+    }
+
+    private List<Change> changes(Directory directory, WatchEvent<?> event) {
+        if (event.kind() == OVERFLOW) {
+            return List.of(new Change(directory.url, null));
+        }
+        final Path child = directory.path.resolve((Path) event.context());
+        if (event.kind() == ENTRY_CREATE && Files.isDirectory(child)) {
+            try {
+                // new packages may already contain classes
+                return register(directory.url, directory.root, child).stream()
+                        .map(path -> new Change(directory.url, packageName(directory.root, path)))
+                        .collect(Collectors.toList());
+            } catch (IOException e) {
+                return List.of(new Change(directory.url, null));
+            }
+        }
+        if (event.kind() == ENTRY_DELETE && !child.getFileName().toString().endsWith(".class")) {
+            // a deleted directory takes its sub-packages along
+            return List.of(new Change(directory.url, null));
+        }
+        return List.of(new Change(directory.url, packageName(directory.root, directory.path)));
+    }
+
+    private List<Path> register(URL url, Path root, Path start) throws IOException {
+        final List<Path> registered;
+        try (Stream<Path> walk = Files.walk(start)) {
+            registered = walk.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+        for (Path path : registered) {
+            final WatchKey key = path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            directories.put(key, new Directory(url, root, path));
+        }
+        return registered;
+    }
+
+    private static String packageName(Path root, Path directory) {
+        return StreamSupport.stream(root.relativize(directory).spliterator(), false)
+                .map(Path::toString)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.joining("."));
+    }
+
+    /**
+     * Changed package of a classpath entry.
+     */
+    static final class Change {
+
+        final URL url;
+
+        // null if the whole entry changed
+        final String packageName;
+
+        Change(URL url, String packageName) {
+            this.url = url;
+            this.packageName = packageName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Change change = (Change) o;
+            return url.toString().equals(change.url.toString()) && Objects.equals(packageName, change.packageName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(url.toString(), packageName);
+        }
+
+    }
+
+    private static final class Directory {
+
+        final URL url;
+
+        final Path root;
+
+        final Path path;
+
+        Directory(URL url, Path root, Path path) {
+            this.url = url;
+            this.root = root;
+            this.path = path;
+        }
+
+    }
+
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.cdiunit.IsolationLevel;
+
+/**
+ * Speculative background initialization of Weld containers for {@link IsolationLevel#PER_METHOD}.
+ * <p>
+ * While a test method runs, spare containers for the next test methods of the same test class are initialized on a
+ * background thread. The next test method takes a spare container instead of initializing one, and falls back to
+ * the synchronous initialization if there is no spare container.
+ * <p>
+ * Preloading is enabled with the {@code cdi-unit.preload.enabled} property, the number of spare containers per test
+ * class is limited by {@code cdi-unit.preload.spares} (1 by default). Hit and miss counts are logged at JVM exit.
+ */
+public enum ContainerPreloader {
+
+    INSTANCE;
+
+    private static final Logger log = LoggerFactory.getLogger(ContainerPreloader.class);
+
+    static final String ENABLED_PROPERTY = "preload.enabled";
+
+    static final String SPARES_PROPERTY = "preload.spares";
+
+    static final int DEFAULT_SPARES = 1;
+
+    private final Map<Key, Deque<PreloadedContainer>> spares = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private volatile ExecutorService executor;
+
+    private static boolean isApplicable(TestConfiguration testConfiguration) {
+        // custom test configurations can not be replicated for spare containers
+        return testConfiguration.getClass() == TestConfiguration.class
+                && testConfiguration.getIsolationLevel() == IsolationLevel.PER_METHOD
+                && CdiUnitProperties.getBoolean(ENABLED_PROPERTY, false);
+    }
+
+    /**
+     * Start initialization of spare containers for the test configuration.
+     *
+     * @param testConfiguration test configuration to initialize containers for
+     */
+    public void preload(TestConfiguration testConfiguration) {
+        if (!isApplicable(testConfiguration)) {
+            return;
+        }
+        final int maxSpares = CdiUnitProperties.getInt(SPARES_PROPERTY, DEFAULT_SPARES);
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        synchronized (spares) {
+            final Deque<PreloadedContainer> queue = spares.computeIfAbsent(new Key(testConfiguration),
+                    key -> new ArrayDeque<>());
+            while (queue.size() < maxSpares) {
+                final PreloadedContainer spare = new PreloadedContainer(testConfiguration);
+                spare.container = executor().submit(() -> spare.initialize(contextClassLoader));
+                queue.addLast(spare);
+            }
+        }
+    }
+
+    /**
+     * Take the spare container for the test configuration.
+     * <p>
+     * The container is bound to the test configuration: test method changes are visible to the container.
+     *
+     * @param testConfiguration test configuration to take the container for
+     * @return the spare container, null if there is no spare container
+     */
+    public PreloadedContainer take(TestConfiguration testConfiguration) {
+        if (!isApplicable(testConfiguration)) {
+            return null;
+        }
+        final PreloadedContainer spare;
+        synchronized (spares) {
+            final Deque<PreloadedContainer> queue = spares.get(new Key(testConfiguration));
+            spare = queue == null ? null : queue.pollFirst();
+        }
+        if (spare != null) {
+            try {
+                spare.container.get();
+                spare.testConfiguration.owner = testConfiguration;
+                hits.incrementAndGet();
+                return spare;
+            } catch (ExecutionException e) {
+                // the synchronous initialization reports the failure
+                log.debug("Unable to preload container for {}", testConfiguration.getTestClass(), e.getCause());
+                executor().execute(spare::shutdown);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor().execute(spare::shutdown);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Shutdown spare containers of the test class.
+     *
+     * @param testClass test class to shutdown containers for
+     */
+    public void discard(Class<?> testClass) {
+        final List<PreloadedContainer> discarded = new ArrayList<>();
+        synchronized (spares) {
+            final Iterator<Map.Entry<Key, Deque<PreloadedContainer>>> iterator = spares.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<Key, Deque<PreloadedContainer>> entry = iterator.next();
+                if (entry.getKey().testClass == testClass) {
+                    discarded.addAll(entry.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+        if (discarded.isEmpty()) {
+            return;
+        }
+        // spares are shut down after their initialization completes
+        final ExecutorService current = executor();
+        discarded.forEach(spare -> current.execute(spare::shutdown));
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private ExecutorService executor() {
+        ExecutorService current = executor;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (executor == null) {
+                executor = Executors.newSingleThreadExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "cdi-unit-preload");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                Runtime.getRuntime().addShutdownHook(new Thread(this::shutdownAll, "cdi-unit-preload-shutdown"));
+            }
+            return executor;
+        }
+    }
+
+    private void shutdownAll() {
+        final List<PreloadedContainer> discarded = new ArrayList<>();
+        synchronized (spares) {
+            spares.values().forEach(discarded::addAll);
+            spares.clear();
+        }
+        executor.shutdownNow();
+        discarded.forEach(PreloadedContainer::shutdown);
+        log.info("CDI-Unit container preload: {} hits, {} misses", hits.get(), misses.get());
+    }
+
+    private static final class Key {
+
+        private final Class<?> testClass;
+        private final List<Class<?>> additionalClasses;
+
+        Key(TestConfiguration testConfiguration) {
+            this.testClass = testConfiguration.getTestClass();
+            this.additionalClasses = new ArrayList<>(testConfiguration.getAdditionalClasses());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return testClass.equals(key.testClass) && additionalClasses.equals(key.additionalClasses);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(testClass, additionalClasses);
+        }
+
+    }
+
+    /**
+     * Test configuration of the spare container, follows the test method of the owning configuration once taken.
+     */
+    private static final class SpareConfiguration extends TestConfiguration {
+
+        private volatile TestConfiguration owner;
+
+        SpareConfiguration(TestConfiguration testConfiguration) {
+            super(testConfiguration.getTestClass(), testConfiguration.getTestMethod(),
+                    testConfiguration.getAdditionalClasses());
+        }
+
+        @Override
+        public Method getTestMethod() {
+            final TestConfiguration current = owner;
+            return current != null ? current.getTestMethod() : super.getTestMethod();
+        }
+
+    }
+
+    /**
+     * Spare container initialized in background.
+     */
+    public static final class PreloadedContainer {
+
+        private final SpareConfiguration testConfiguration;
+        private volatile Weld weld;
+        private Future<WeldContainer> container;
+
+        private PreloadedContainer(TestConfiguration testConfiguration) {
+            this.testConfiguration = new SpareConfiguration(testConfiguration);
+        }
+
+        private WeldContainer initialize(ClassLoader contextClassLoader) {
+            final Thread thread = Thread.currentThread();
+            final ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
+            try {
+                weld = WeldHelper.configureWeld(testConfiguration);
+                return WeldHelper.initialize(weld, testConfiguration);
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        }
+
+        public Weld getWeld() {
+            return weld;
+        }
+
+        public WeldContainer getContainer() {
+            try {
+                return container.get();
+            } catch (Exception e) {
+                throw ExceptionUtils.asRuntimeException(e);
+            }
+        }
+
+        private void shutdown() {
+            final Weld current = weld;
+            if (current == null) {
+                return;
+            }
+            try {
+                current.shutdown();
+            } catch (RuntimeException e) {
+                log.warn("Unable to shutdown preloaded container for {}", testConfiguration.getTestClass(), e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.spi.AlterableContext;
+import jakarta.enterprise.context.spi.Context;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.Extension;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.cdiunit.ContextController;
+
+import static io.github.cdiunit.internal.ExceptionUtils.illegalInstantiation;
+
+/**
+ * Reset of a running Weld container between test methods.
+ * <p>
+ * The deployment is kept, all contextual instances of active contexts are destroyed, so the next test method gets
+ * fresh instances. Dependent instances are left to their owners, extensions are kept as part of the deployment.
+ */
+public final class ContainerReset {
+
+    private static final Logger log = LoggerFactory.getLogger(ContainerReset.class);
+
+    private static final String CONTEXT_CONTROLLER = "io.github.cdiunit.ContextController";
+
+    private ContainerReset() throws IllegalAccessException {
+        illegalInstantiation();
+    }
+
+    public static void reset(BeanManager beanManager) {
+        final List<Bean<?>> beans = new ArrayList<>(beanManager.getBeans(Object.class, Any.Literal.INSTANCE));
+        // close open requests and sessions before their contexts lose the controller
+        for (Bean<?> bean : beans) {
+            if (CONTEXT_CONTROLLER.equals(bean.getBeanClass().getName())) {
+                final Context context = getActiveContext(beanManager, bean);
+                final Object instance = context == null ? null : context.get(bean);
+                if (instance instanceof ContextController) {
+                    ((ContextController) instance).closeRequest();
+                    ((ContextController) instance).closeSession();
+                }
+            }
+        }
+        for (Bean<?> bean : beans) {
+            if (bean.getScope() == Dependent.class || Extension.class.isAssignableFrom(bean.getBeanClass())) {
+                continue;
+            }
+            final Context context = getActiveContext(beanManager, bean);
+            if (context instanceof AlterableContext) {
+                try {
+                    ((AlterableContext) context).destroy(bean);
+                } catch (RuntimeException e) {
+                    log.warn("Unable to destroy instance of bean: {}", bean, e);
+                }
+            }
+        }
+    }
+
+    private static Context getActiveContext(BeanManager beanManager, Bean<?> bean) {
+        try {
+            return beanManager.getContext(bean.getScope());
+        } catch (ContextNotActiveException e) {
+            return null;
+        }
+    }
+
+}
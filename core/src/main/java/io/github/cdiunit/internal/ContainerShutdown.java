@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.environment.se.Weld;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.cdiunit.internal.jfr.ShutdownEvent;
+
+/**
+ * Shutdown of Weld containers, optionally asynchronous.
+ * <p>
+ * With the {@code cdi-unit.shutdown.async} property containers are shut down on a background thread. The queue is
+ * bounded by {@code cdi-unit.shutdown.queue-size} (4 by default), the caller shuts down the container itself when
+ * the queue is full. Shutdown failures are kept for the owning test class and thrown by {@link #await(Class)} or
+ * {@link #checkCompleted(Class)}. All queued containers are shut down before the JVM exits, failures not reported
+ * by then are logged.
+ */
+public enum ContainerShutdown {
+
+    INSTANCE;
+
+    private static final Logger log = LoggerFactory.getLogger(ContainerShutdown.class);
+
+    static final String ASYNC_PROPERTY = "shutdown.async";
+
+    static final String QUEUE_SIZE_PROPERTY = "shutdown.queue-size";
+
+    static final int DEFAULT_QUEUE_SIZE = 4;
+
+    private final Map<Class<?>, List<Future<?>>> pending = new HashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Shutdown the container.
+     *
+     * @param weld the container to shutdown
+     * @param owner test class owning the container
+     */
+    public void shutdown(Weld weld, Class<?> owner) {
+        if (!CdiUnitProperties.getBoolean(ASYNC_PROPERTY, false)) {
+            shutdown(weld, owner, false);
+            return;
+        }
+        final ThreadPoolExecutor shutdownExecutor;
+        synchronized (pending) {
+            shutdownExecutor = executor();
+        }
+        if (shutdownExecutor.isShutdown()) {
+            // the JVM is exiting already
+            shutdown(weld, owner, false);
+            return;
+        }
+        final Future<?> future = shutdownExecutor.submit(() -> shutdown(weld, owner, true));
+        synchronized (pending) {
+            // the exit barrier shuts down the executor under the same lock
+            if (!shutdownExecutor.isShutdown()) {
+                pending.computeIfAbsent(owner, key -> new ArrayList<>()).add(future);
+                return;
+            }
+        }
+        // the JVM started exiting meanwhile, the barrier may not see this container
+        report(List.of(future), true);
+    }
+
+    private static void shutdown(Weld weld, Class<?> owner, boolean async) {
+        final ShutdownEvent event = new ShutdownEvent();
+        event.begin();
+        weld.shutdown();
+        event.async = async;
+        event.setTest(owner, null);
+        event.commitWithTest();
+    }
+
+    /**
+     * Wait for shutdown of all containers owned by the test class.
+     *
+     * @param owner the test class
+     * @throws RuntimeException the first shutdown failure, further failures are suppressed
+     */
+    public void await(Class<?> owner) {
+        final List<Future<?>> futures;
+        synchronized (pending) {
+            futures = pending.remove(owner);
+        }
+        report(futures, true);
+    }
+
+    /**
+     * Report failures of the completed shutdowns of containers owned by the test class.
+     *
+     * @param owner the test class
+     * @throws RuntimeException the first shutdown failure, further failures are suppressed
+     */
+    public void checkCompleted(Class<?> owner) {
+        final List<Future<?>> completed = new ArrayList<>();
+        synchronized (pending) {
+            final List<Future<?>> futures = pending.get(owner);
+            if (futures == null) {
+                return;
+            }
+            final Iterator<Future<?>> iterator = futures.iterator();
+            while (iterator.hasNext()) {
+                final Future<?> future = iterator.next();
+                if (future.isDone()) {
+                    completed.add(future);
+                    iterator.remove();
+                }
+            }
+            if (futures.isEmpty()) {
+                pending.remove(owner);
+            }
+        }
+        report(completed, false);
+    }
+
+    private static void report(List<Future<?>> futures, boolean wait) {
+        if (futures == null) {
+            return;
+        }
+        Throwable failure = null;
+        for (Future<?> future : futures) {
+            final Throwable t = getFailure(future, wait);
+            if (t == null) {
+                continue;
+            }
+            if (failure == null) {
+                failure = t;
+            } else {
+                failure.addSuppressed(t);
+            }
+        }
+        if (failure != null) {
+            throw ExceptionUtils.asRuntimeException(failure);
+        }
+    }
+
+    private static Throwable getFailure(Future<?> future, boolean wait) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    future.get();
+                    return null;
+                } catch (ExecutionException e) {
+                    return e.getCause();
+                } catch (InterruptedException e) {
+                    if (!wait) {
+                        return e;
+                    }
+                    // the container must be destroyed before the test class completes
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private ThreadPoolExecutor executor() {
+        if (executor == null) {
+            final int queueSize = Math.max(1, CdiUnitProperties.getInt(QUEUE_SIZE_PROPERTY, DEFAULT_QUEUE_SIZE));
+            executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueSize),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "cdi-unit-shutdown");
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    // unlike CallerRunsPolicy, also runs the tasks rejected once the executor is shut down
+                    (runnable, pool) -> runnable.run());
+            Runtime.getRuntime().addShutdownHook(new Thread(this::exit, "cdi-unit-shutdown-barrier"));
+        }
+        return executor;
+    }
+
+    private void exit() {
+        synchronized (pending) {
+            // containers shut down later are shut down by the caller
+            executor.shutdown();
+        }
+        awaitAll();
+    }
+
+    /**
+     * Wait for shutdown of all queued containers, failures are logged.
+     */
+    void awaitAll() {
+        final Map<Class<?>, List<Future<?>>> remaining;
+        synchronized (pending) {
+            remaining = new HashMap<>(pending);
+            pending.clear();
+        }
+        remaining.forEach((owner, futures) -> futures.forEach(future -> {
+            final Throwable failure = getFailure(future, true);
+            if (failure != null) {
+                log.warn("Unable to shutdown Weld container of {}", owner.getName(), failure);
+            }
+        }));
+    }
+
+}
@@ -15,58 +15,57 @@
  */
 package io.github.cdiunit.internal;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.jar.Attributes;
-import java.util.jar.JarInputStream;
+import java.util.jar.JarFile;
 import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Finds the classpath entries which are bean archives: directories and archives containing {@code META-INF/beans.xml}.
+ * <p>
+ * Archives are probed by their zip central directory, only the manifest is read to follow the manifest class path of
+ * e.g. Surefire manifest-only jars. Entries are probed in parallel and the outcome of archives is kept in the
+ * {@link ScanCache} by the path, size and modification time of the archive.
+ */
 public class DefaultBeanArchiveScanner implements BeanArchiveScanner {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultBeanArchiveScanner.class);
 
+    private static final String BEANS_XML = "META-INF/beans.xml";
+
+    // marker file for CDI Unit archive - for CDI Unit INTERNAL use only!
+    private static final String CDI_UNIT_ARCHIVE = "META-INF/io.github.cdiunit-archive";
+
     @Override
     public Collection<URL> findBeanArchives(final Collection<URL> classPathEntries) throws IOException {
-        final Set<URL> result = new HashSet<>();
         // cdiClasspathEntries doesn't preserve order, so HashSet is fine
         final Set<URL> entrySet = new HashSet<>(classPathEntries);
+        classPathEntries.parallelStream()
+                .map(DefaultBeanArchiveScanner::probe)
+                .map(probe -> probe.manifestClassPath)
+                .collect(Collectors.toList())
+                .forEach(entrySet::addAll);
 
-        for (URL url : classPathEntries) {
-            entrySet.addAll(getEntriesFromManifestClasspath(url));
-        }
-
-        for (URL url : entrySet) {
-            try (URLClassLoader classLoader = new URLClassLoader(new URL[] { url },
-                    null)) {
-                // TODO this seems pretty Maven-specific, and fragile
-                if (url.getFile().endsWith("/classes/")) {
-                    URL webInfBeans = new URL(url,
-                            "../../src/main/webapp/WEB-INF/beans.xml");
-                    try (InputStream ignore = webInfBeans.openStream()) {
-                        result.add(url);
-                    } catch (IOException ignore) {
-                        // no such file
-                    }
-                }
-                // TODO beans.xml is no longer required by CDI (1.1+)
-                URL beansXml = classLoader.getResource("META-INF/beans.xml");
-                // marker file for CDI Unit archive - for CDI Unit INTERNAL use only!
-                URL cdiUnitArchive = classLoader.getResource("META-INF/io.github.cdiunit-archive");
-                if (cdiUnitArchive != null || beansXml != null || isDirectory(url)) {
-                    result.add(url);
-                }
-            }
-        }
+        final Set<URL> result = entrySet.parallelStream()
+                .filter(url -> probe(url).beanArchive)
+                .collect(Collectors.toSet());
         log.debug("CDI classpath entries discovered:");
         for (URL url : result) {
             log.debug("{}", url);
@@ -74,41 +73,120 @@ public class DefaultBeanArchiveScanner implements BeanArchiveScanner {
         return result;
     }
 
-    private boolean isDirectory(URL classpathEntry) {
+    private static Probe probe(URL url) {
+        final Path path = toPath(url);
+        if (path == null) {
+            return probeURL(url);
+        }
+        final BasicFileAttributes attributes;
         try {
-            return new File(classpathEntry.toURI()).isDirectory();
-        } catch (IllegalArgumentException ignore) {
-            // Ignore, thrown by File constructor for unsupported URIs
-        } catch (URISyntaxException ignore) {
-            // Ignore, does not denote an URI that points to a directory
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // missing classpath entry
+            return Probe.NONE;
+        }
+        if (attributes.isDirectory()) {
+            return Probe.DIRECTORY;
         }
-        return false;
+        final String key = "probe:" + path + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+        return ScanCache.getInstance().computeIfAbsent(key, () -> probeArchive(url, path));
     }
 
-    private static Set<URL> getEntriesFromManifestClasspath(URL url)
-            throws IOException {
-        Set<URL> manifestURLs = new HashSet<>();
+    private static Probe probeArchive(URL url, Path path) {
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            final boolean beanArchive = zip.getEntry(BEANS_XML) != null
+                    || zip.getEntry(CDI_UNIT_ARCHIVE) != null
+                    || hasWebInfBeansXml(url);
+            return new Probe(beanArchive, getManifestClassPath(zip));
+        } catch (IOException e) {
+            log.debug("Unable to probe {}", url, e);
+            return Probe.NONE;
+        }
+    }
+
+    /**
+     * Probe a classpath entry which is not on the file system.
+     */
+    private static Probe probeURL(URL url) {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { url }, null)) {
+            final boolean beanArchive = classLoader.getResource(BEANS_XML) != null
+                    || classLoader.getResource(CDI_UNIT_ARCHIVE) != null
+                    || hasWebInfBeansXml(url);
+            return new Probe(beanArchive, List.of());
+        } catch (IOException e) {
+            log.debug("Unable to probe {}", url, e);
+            return Probe.NONE;
+        }
+    }
+
+    private static boolean hasWebInfBeansXml(URL url) {
+        // TODO this seems pretty Maven-specific, and fragile
+        if (!url.getFile().endsWith("/classes/")) {
+            return false;
+        }
+        try (InputStream ignore = new URL(url, "../../src/main/webapp/WEB-INF/beans.xml").openStream()) {
+            return true;
+        } catch (IOException ignore) {
+            // no such file
+            return false;
+        }
+    }
+
+    private static List<URL> getManifestClassPath(ZipFile zip) throws IOException {
         // If this is a surefire manifest-only jar we need to get the original classpath.
         // When testing cdi-unit-tests through Maven, this finds extra entries compared to FCS:
         // eg ".../cdi-unit/cdi-unit-tests/target/classes"
-        try (InputStream in = url.openStream();
-                JarInputStream jar = new JarInputStream(in)) {
-            Manifest manifest = jar.getManifest();
-            if (manifest != null) {
-                String classpath = (String) manifest.getMainAttributes()
-                        .get(Attributes.Name.CLASS_PATH);
-                if (classpath != null) {
-                    String[] manifestEntries = classpath.split(" ?file:");
-                    for (String entry : manifestEntries) {
-                        if (entry.length() > 0) {
-                            // entries is a Set, so this won't add duplicates
-                            manifestURLs.add(new URL("file:" + entry));
-                        }
-                    }
-                }
+        final ZipEntry manifestEntry = zip.getEntry(JarFile.MANIFEST_NAME);
+        if (manifestEntry == null) {
+            return List.of();
+        }
+        final Manifest manifest;
+        try (InputStream in = zip.getInputStream(manifestEntry)) {
+            manifest = new Manifest(in);
+        }
+        final String classpath = manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+        if (classpath == null) {
+            return List.of();
+        }
+        final Set<URL> manifestURLs = new HashSet<>();
+        for (String entry : classpath.split(" ?file:")) {
+            if (entry.length() > 0) {
+                manifestURLs.add(new URL("file:" + entry));
             }
         }
-        return manifestURLs;
+        return List.copyOf(manifestURLs);
+    }
+
+    private static Path toPath(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (Exception ignore) {
+            // Ignore, does not denote a file system path
+            return null;
+        }
+    }
+
+    /**
+     * Outcome of probing a classpath entry.
+     */
+    private static final class Probe {
+
+        static final Probe NONE = new Probe(false, List.of());
+
+        static final Probe DIRECTORY = new Probe(true, List.of());
+
+        final boolean beanArchive;
+
+        final List<URL> manifestClassPath;
+
+        Probe(boolean beanArchive, List<URL> manifestClassPath) {
+            this.beanArchive = beanArchive;
+            this.manifestClassPath = manifestClassPath;
+        }
+
     }
 
 }
@@ -16,11 +16,16 @@
 package io.github.cdiunit.internal;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.net.URL;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -29,20 +34,30 @@ import jakarta.enterprise.inject.spi.Extension;
 
 import org.jboss.weld.environment.se.Weld;
 import org.jboss.weld.environment.se.WeldSEBeanRegistrant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.github.cdiunit.ProducesAlternative;
 
 class DefaultDiscoveryContext implements DiscoveryExtension.Context {
 
+    private static final Logger log = LoggerFactory.getLogger(DefaultDiscoveryContext.class);
+
     private final ClasspathScanner scanner;
 
     private final TestConfiguration testConfiguration;
 
     private final Set<Extension> extensions = new LinkedHashSet<>();
 
-    private final Set<Class<?>> classesToProcess = new LinkedHashSet<>();
+    // class name to the class, null until the class is loaded
+    private final Map<String, Class<?>> classesToProcess = new LinkedHashMap<>();
+
+    private final Set<String> classesToIgnore = new HashSet<>();
+
+    private final PackagePatterns packagesToIgnore = PackagePatterns.ignoredPackages();
 
-    private final Set<Class<?>> classesToIgnore = new LinkedHashSet<>();
+    // implementations queued by the subtype index only, optional if they can not be discovered
+    private final Set<String> resolvedImplementations = new HashSet<>();
 
     private final Set<Class<?>> alternatives = new LinkedHashSet<>();
 
@@ -52,9 +67,32 @@ class DefaultDiscoveryContext implements DiscoveryExtension.Context {
 
     private final Set<Class<? extends Annotation>> alternativeStereotypes = new LinkedHashSet<>();
 
+    private final boolean lazyLoading;
+
+    // null unless cdi-unit.discovery.trace is set
+    private DiscoveryTrace trace;
+
+    // null unless the discovery boundary is configured
+    private DiscoveryBoundary boundary;
+
+    // null unless cdi-unit.discovery.resolve-implementations is enabled
+    private SubtypeIndex subtypeIndex;
+
+    private String requesterClass;
+
+    private AnnotatedElement requesterMember;
+
     public DefaultDiscoveryContext(ClasspathScanner scanner, final TestConfiguration testConfiguration) {
+        this(scanner, testConfiguration, false);
+    }
+
+    /**
+     * @param lazyLoading whether classes passed by name are queued and ignored without loading them
+     */
+    DefaultDiscoveryContext(ClasspathScanner scanner, final TestConfiguration testConfiguration, boolean lazyLoading) {
         this.scanner = scanner;
         this.testConfiguration = testConfiguration;
+        this.lazyLoading = lazyLoading;
     }
 
     @Override
@@ -62,16 +100,59 @@ class DefaultDiscoveryContext implements DiscoveryExtension.Context {
         return testConfiguration;
     }
 
-    public boolean hasClassesToProcess() {
-        return !classesToProcess.isEmpty();
+    void setTrace(DiscoveryTrace trace) {
+        this.trace = trace;
+    }
+
+    void setBoundary(DiscoveryBoundary boundary) {
+        this.boundary = boundary;
+    }
+
+    void setSubtypeIndex(SubtypeIndex subtypeIndex) {
+        this.subtypeIndex = subtypeIndex;
     }
 
-    public Class<?> nextClassToProcess() {
-        return classesToProcess.iterator().next();
+    /**
+     * Attribute the classes processed or ignored next to the requester in the discovery trace and boundary.
+     *
+     * @param className requesting class, null if requested by the test configuration or an extension
+     * @param via what requested the classes, e.g. {@code test} or {@code extension}
+     */
+    void setRequester(String className, String via) {
+        requesterClass = className;
+        requesterMember = null;
+        if (trace != null) {
+            trace.setRequester(className, via);
+        }
     }
 
-    public void processed(Class<?> c) {
-        classesToProcess.remove(c);
+    void setRequester(String className, AnnotatedElement member) {
+        requesterClass = className;
+        requesterMember = member;
+        if (trace != null) {
+            trace.setRequester(className, member);
+        }
+    }
+
+    void traceOutcome(String className, DiscoveryTrace.Outcome outcome, long nanos) {
+        if (trace != null) {
+            trace.outcome(className, outcome, nanos);
+        }
+    }
+
+    public boolean hasClassesToProcess() {
+        return !classesToProcess.isEmpty();
+    }
+
+    /**
+     * Take all queued classes.
+     *
+     * @return queued class names to the classes in the queue order, the class is null if not loaded yet
+     */
+    public Map<String, Class<?>> takeClassesToProcess() {
+        final Map<String, Class<?>> result = new LinkedHashMap<>(classesToProcess);
+        classesToProcess.clear();
+        return result;
     }
 
     private void process(Type type, Consumer<Class<?>> onClass) {
@@ -90,26 +171,123 @@ class DefaultDiscoveryContext implements DiscoveryExtension.Context {
 
     @Override
     public void processBean(String className) {
-        processBean(loadClass(className));
+        resolvedImplementations.remove(className);
+        // classes of ignored packages are never loaded
+        if (lazyLoading || isIgnored(className)) {
+            queue(className);
+        } else {
+            processBean(loadClass(className));
+        }
+    }
+
+    /**
+     * Queue the class by name, the worklist loads it if not ignored.
+     */
+    private void queue(String className) {
+        classesToProcess.putIfAbsent(className, null);
+        if (boundary != null) {
+            boundary.queued(requesterClass, className);
+        }
+        if (trace != null) {
+            trace.processed(className);
+        }
     }
 
     @Override
     public void processBean(Type type) {
-        process(type, classesToProcess::add);
+        if (boundary != null) {
+            final Class<?> crossing = boundary.cross(requesterClass, requesterMember, type);
+            if (crossing != null) {
+                if (trace != null) {
+                    trace.processed(crossing.getName());
+                    trace.outcome(crossing.getName(), DiscoveryTrace.Outcome.MOCKED, 0);
+                }
+                return;
+            }
+        }
+        process(type, cls -> {
+            resolvedImplementations.remove(cls.getName());
+            classesToProcess.merge(cls.getName(), cls, (queued, loaded) -> queued);
+            if (boundary != null) {
+                boundary.queued(requesterClass, cls.getName());
+            }
+            if (trace != null) {
+                trace.processed(cls.getName());
+            }
+        });
+        if (subtypeIndex != null && InjectionPoints.isInjected(requesterMember, type)) {
+            addImplementations(type);
+        }
+    }
+
+    private void addImplementations(Type type) {
+        final Type requiredType = InjectionPoints.requiredType(type);
+        final Class<?> requiredClass = InjectionPoints.rawType(requiredType);
+        if (requiredClass == null) {
+            return;
+        }
+        final List<String> implementations = subtypeIndex.getImplementations(requiredClass.getName());
+        // Instance<T>, Provider<T> and qualified injection points select among the implementations
+        if (implementations.size() > 1 && requiredType == type
+                && !InjectionPoints.isQualified(requesterMember, type)) {
+            log.warn("Not resolving {} injected by {}: {} implementations {} would be ambiguous,"
+                    + " add the one to use with @AdditionalClasses", requiredClass.getName(), requesterClass,
+                    implementations.size(), implementations);
+            return;
+        }
+        for (String implementation : implementations) {
+            if (!classesToProcess.containsKey(implementation)) {
+                resolvedImplementations.add(implementation);
+            }
+            queue(implementation);
+        }
+    }
+
+    /**
+     * @param className queued class name
+     * @return true if the class is queued only as an implementation of an injection point type
+     */
+    boolean isResolvedImplementation(String className) {
+        return resolvedImplementations.contains(className);
     }
 
     @Override
     public void ignoreBean(String className) {
-        ignoreBean(loadClass(className));
+        if (lazyLoading) {
+            classesToIgnore.add(className);
+            if (trace != null) {
+                trace.ignored(className);
+            }
+        } else {
+            ignoreBean(loadClass(className));
+        }
     }
 
     @Override
     public void ignoreBean(Type type) {
-        process(type, classesToIgnore::add);
+        process(type, cls -> {
+            classesToIgnore.add(cls.getName());
+            if (trace != null) {
+                trace.ignored(cls.getName());
+            }
+        });
     }
 
     public boolean isIgnored(Class<?> c) {
-        return classesToIgnore.contains(c);
+        return isIgnored(c.getName());
+    }
+
+    @Override
+    public void ignorePackage(String pattern) {
+        packagesToIgnore.add(pattern);
+    }
+
+    public boolean isIgnored(String className) {
+        if (classesToIgnore.contains(className)) {
+            return true;
+        }
+        // broad global patterns may match the package of the test class itself
+        return packagesToIgnore.matches(className) && !className.equals(testConfiguration.getTestClass().getName());
     }
 
     @Override
@@ -180,34 +358,41 @@ class DefaultDiscoveryContext implements DiscoveryExtension.Context {
 
     @Override
     public Collection<Class<?>> scanPackages(Collection<Class<?>> baseClasses) {
-        final Collection<Class<?>> result = new LinkedHashSet<>();
+        return scanPackageClassNames(baseClasses).stream()
+                .map(this::loadClass)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Override
+    public Collection<String> scanPackageClassNames(Collection<Class<?>> baseClasses) {
+        final Collection<String> result = new LinkedHashSet<>();
         for (Class<?> baseClass : baseClasses) {
             final String packageName = baseClass.getPackage().getName();
             final URL url = scanner.getClasspathURL(baseClass);
 
-            // It might be more efficient to scan all packageNames at once, but we
-            // might pick up classes from a different package's classpath entry, which
-            // would be a change in behaviour (but perhaps less surprising?).
-            scanner.getClassNamesForPackage(packageName, url)
-                    .stream()
-                    .map(this::loadClass)
-                    .collect(Collectors.toCollection(() -> result));
+            // Only the package of the base class classpath entry, not the same package of other entries.
+            // With cdi-unit.scanner.index=true the scanner answers from a single scan of the bean archives.
+            result.addAll(scanner.getClassNamesForPackage(packageName, url));
         }
         return result;
     }
 
     @Override
     public Collection<Class<?>> scanBeanArchives(Collection<Class<?>> baseClasses) {
+        return scanBeanArchiveClassNames(baseClasses).stream()
+                .map(this::loadClass)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Collection<String> scanBeanArchiveClassNames(Collection<Class<?>> baseClasses) {
         URL[] urls = baseClasses.stream()
                 .map(scanner::getClasspathURL)
                 .toArray(URL[]::new);
-        return scanner.getClassNamesForClasspath(urls)
-                .stream()
-                .map(this::loadClass)
-                .collect(Collectors.toSet());
+        return List.copyOf(scanner.getBeanClassNamesForClasspath(urls));
     }
 
-    private Class<?> loadClass(String name) {
+    Class<?> loadClass(String name) {
         try {
             return getClass().getClassLoader().loadClass(name);
         } catch (ClassNotFoundException e) {
@@ -215,11 +400,13 @@ class DefaultDiscoveryContext implements DiscoveryExtension.Context {
         }
     }
 
-    void configure(Weld weld) {
+    void configure(Weld weld, boolean deployTestClass) {
         weld.addExtension(new WeldSEBeanRegistrant());
         weld.addAlternativeStereotype(ProducesAlternative.class);
 
-        weld.addBeanClass(testConfiguration.getTestClass());
+        if (deployTestClass) {
+            weld.addBeanClass(testConfiguration.getTestClass());
+        }
 
         extensions.forEach(weld::addExtension);
         alternatives.forEach(weld::addAlternative);
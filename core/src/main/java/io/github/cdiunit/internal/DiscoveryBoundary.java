@@ -0,0 +1,244 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.inject.Qualifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.cdiunit.internal.mockito.MockitoBoundaryExtension;
+
+/**
+ * Boundary of the class discovery, types of injection points beyond it are mocked instead of discovered.
+ * <p>
+ * Injection points cross the boundary when their type is in a package matching one of the
+ * {@code cdi-unit.discovery.boundary.packages} patterns (comma separated, see {@link PackagePatterns}, e.g.
+ * {@code com.acme.infra.**}), or when the injecting class is {@code cdi-unit.discovery.boundary.depth} injection hops
+ * away from the test class: the test class has depth 0, the types it injects have depth 1. Platform
+ * types ({@code java.*}, {@code jakarta.*}) never cross the boundary.
+ * <p>
+ * Crossing types are not discovered, {@link MockitoBoundaryExtension} registers a Mockito mock for every crossing
+ * injection point not satisfied by the deployment. Requires Mockito on the classpath.
+ */
+public final class DiscoveryBoundary {
+
+    private static final Logger log = LoggerFactory.getLogger(DiscoveryBoundary.class);
+
+    static final String PACKAGES_PROPERTY = "discovery.boundary.packages";
+
+    static final String DEPTH_PROPERTY = "discovery.boundary.depth";
+
+    private final PackagePatterns packages;
+
+    private final int maxDepth;
+
+    // class name to the least number of injection hops from the test class
+    private final Map<String, Integer> depths = new HashMap<>();
+
+    private final Set<Crossing> crossings = new LinkedHashSet<>();
+
+    private DiscoveryBoundary(PackagePatterns packages, int maxDepth) {
+        this.packages = packages;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Create the boundary if configured.
+     *
+     * @return new boundary, null if not configured or Mockito is not available
+     */
+    static DiscoveryBoundary create() {
+        final PackagePatterns packages = PackagePatterns.fromProperty(PACKAGES_PROPERTY);
+        final int maxDepth = CdiUnitProperties.getInt(DEPTH_PROPERTY, Integer.MAX_VALUE);
+        if (packages.isEmpty() && maxDepth == Integer.MAX_VALUE) {
+            return null;
+        }
+        if (!ClassLookup.INSTANCE.isPresent("org.mockito.Mockito")) {
+            log.warn("Mockito is not available, ignoring the discovery boundary");
+            return null;
+        }
+        return new DiscoveryBoundary(packages, Math.max(maxDepth, 0));
+    }
+
+    static boolean isEnabled() {
+        return !PackagePatterns.fromProperty(PACKAGES_PROPERTY).isEmpty()
+                || CdiUnitProperties.get(DEPTH_PROPERTY, null) != null;
+    }
+
+    /**
+     * Record the class queued by the requester.
+     *
+     * @param requester requesting class, null if requested by the test configuration or an extension
+     * @param className queued class
+     */
+    void queued(String requester, String className) {
+        final int depth = requester == null ? 0 : depth(requester) + 1;
+        depths.merge(className, depth, Math::min);
+    }
+
+    private int depth(String className) {
+        return depths.getOrDefault(className, 0);
+    }
+
+    /**
+     * Check whether the type requested by a member crosses the boundary, record the crossing if so.
+     *
+     * @param requester requesting class
+     * @param member requesting member, only injection points cross the boundary
+     * @param type requested type
+     * @return the crossing class, null if the type is within the boundary
+     * @see InjectionPoints#isInjected(AnnotatedElement, Type)
+     */
+    Class<?> cross(String requester, AnnotatedElement member, Type type) {
+        if (requester == null || !InjectionPoints.isInjected(member, type)) {
+            return null;
+        }
+        final Type requiredType = InjectionPoints.requiredType(type);
+        final Class<?> cls = InjectionPoints.rawType(requiredType);
+        if (cls == null || cls.isPrimitive() || cls.isArray() || isPlatform(cls) || !isBeanType(requiredType)) {
+            return null;
+        }
+        if (depth(requester) < maxDepth && !isBoundaryPackage(cls)) {
+            return null;
+        }
+        for (Set<Annotation> qualifiers : qualifiers(member, type)) {
+            crossings.add(new Crossing(requiredType, cls, qualifiers));
+        }
+        return cls;
+    }
+
+    /**
+     * Wildcards and type variables are not legal in types of the mock beans.
+     */
+    private static boolean isBeanType(Type type) {
+        if (type instanceof Class) {
+            return true;
+        }
+        return type instanceof ParameterizedType
+                && Arrays.stream(((ParameterizedType) type).getActualTypeArguments()).allMatch(DiscoveryBoundary::isBeanType);
+    }
+
+    private static boolean isPlatform(Class<?> cls) {
+        final String name = cls.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jakarta.");
+    }
+
+    private boolean isBoundaryPackage(Class<?> cls) {
+        return packages.matches(cls.getName());
+    }
+
+    /**
+     * Qualifier sets of the injection points of the type, one per method parameter of the type.
+     */
+    private static List<Set<Annotation>> qualifiers(AnnotatedElement member, Type type) {
+        if (member instanceof Method) {
+            final Method method = (Method) member;
+            final Type[] parameterTypes = method.getGenericParameterTypes();
+            final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+            final List<Set<Annotation>> result = new ArrayList<>();
+            for (int i = 0; i < parameterTypes.length && i < parameterAnnotations.length; i++) {
+                if (parameterTypes[i].equals(type)) {
+                    result.add(qualifiers(parameterAnnotations[i]));
+                }
+            }
+            if (!result.isEmpty()) {
+                return result;
+            }
+        }
+        return List.of(qualifiers(member.getAnnotations()));
+    }
+
+    private static Set<Annotation> qualifiers(Annotation[] annotations) {
+        return Arrays.stream(annotations)
+                .filter(a -> a.annotationType().isAnnotationPresent(Qualifier.class))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    Collection<Crossing> getCrossings() {
+        return crossings;
+    }
+
+    Extension createExtension() {
+        return new MockitoBoundaryExtension(crossings);
+    }
+
+    /**
+     * Injection point type crossing the boundary.
+     */
+    public static final class Crossing {
+
+        private final Type type;
+
+        private final Class<?> rawType;
+
+        private final Set<Annotation> qualifiers;
+
+        Crossing(Type type, Class<?> rawType, Set<Annotation> qualifiers) {
+            this.type = type;
+            this.rawType = rawType;
+            this.qualifiers = Set.copyOf(qualifiers);
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public Class<?> getRawType() {
+            return rawType;
+        }
+
+        /**
+         * @return qualifiers of the injection point, empty for the default qualifier
+         */
+        public Set<Annotation> getQualifiers() {
+            return qualifiers;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Crossing)) {
+                return false;
+            }
+            final Crossing other = (Crossing) o;
+            return type.equals(other.type) && qualifiers.equals(other.qualifiers);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, qualifiers);
+        }
+
+        @Override
+        public String toString() {
+            return qualifiers.isEmpty() ? type.getTypeName() : qualifiers + " " + type.getTypeName();
+        }
+
+    }
+
+}
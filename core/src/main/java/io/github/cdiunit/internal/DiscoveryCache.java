@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.Consumer;
+
+import jakarta.enterprise.inject.spi.Extension;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the discovery results.
+ * <p>
+ * The discovery outcome depends on the test class, additional classes, annotations of the test method and the global
+ * discovery properties only. Test methods of the same test class reuse the discovered classes and the alternative,
+ * decorator, interceptor and stereotype sets, only CDI extensions are created again for every discovery. Results with
+ * extensions which can not be created again are not cached.
+ * <p>
+ * The cache keeps up to {@code cdi-unit.discovery.cache-size} entries (64 by default), the value of 0 disables the cache.
+ */
+enum DiscoveryCache {
+
+    INSTANCE;
+
+    private static final Logger log = LoggerFactory.getLogger(DiscoveryCache.class);
+
+    static final String CACHE_SIZE_PROPERTY = "discovery.cache-size";
+
+    static final int DEFAULT_CACHE_SIZE = 64;
+
+    // global properties changing the discovery outcome
+    static final List<String> DISCOVERY_PROPERTIES = List.of(
+            PackagePatterns.IGNORED_PACKAGES_PROPERTY,
+            DiscoveryBoundary.PACKAGES_PROPERTY,
+            DiscoveryBoundary.DEPTH_PROPERTY,
+            SubtypeIndex.RESOLVE_IMPLEMENTATIONS_PROPERTY,
+            DiscoveryWorklist.ENGINE_PROPERTY,
+            DiscoveryTrace.TRACE_PROPERTY,
+            CachingClassGraphScanner.DISCOVERY_MODE_PROPERTY);
+
+    // access order gives LRU iteration order
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    Entry get(Key key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    void put(Key key, Entry entry) {
+        if (!entry.isRestorable()) {
+            log.debug("Discovery of {} is not cached, its extensions can not be created again", key.testClass);
+            return;
+        }
+        final int cacheSize = CdiUnitProperties.getInt(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE);
+        synchronized (entries) {
+            if (cacheSize > 0) {
+                entries.put(key, entry);
+            }
+            final Iterator<Key> iterator = entries.keySet().iterator();
+            while (entries.size() > cacheSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    static final class Key {
+
+        private final Class<?> testClass;
+        private final List<Class<?>> additionalClasses;
+        private final Set<Annotation> methodAnnotations;
+        private final List<String> properties;
+
+        private Key(Class<?> testClass, List<Class<?>> additionalClasses, Set<Annotation> methodAnnotations,
+                List<String> properties) {
+            this.testClass = testClass;
+            this.additionalClasses = additionalClasses;
+            this.methodAnnotations = methodAnnotations;
+            this.properties = properties;
+        }
+
+        static Key of(TestConfiguration testConfiguration) {
+            final Method testMethod = testConfiguration.getTestMethod();
+            final Set<Annotation> methodAnnotations = testMethod == null
+                    ? Set.of()
+                    : new HashSet<>(Arrays.asList(testMethod.getAnnotations()));
+            final List<String> properties = new ArrayList<>(DISCOVERY_PROPERTIES.size());
+            for (String name : DISCOVERY_PROPERTIES) {
+                properties.add(CdiUnitProperties.get(name));
+            }
+            return new Key(testConfiguration.getTestClass(),
+                    new ArrayList<>(testConfiguration.getAdditionalClasses()),
+                    methodAnnotations, properties);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return testClass.equals(key.testClass)
+                    && additionalClasses.equals(key.additionalClasses)
+                    && methodAnnotations.equals(key.methodAnnotations)
+                    && properties.equals(key.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(testClass, additionalClasses, methodAnnotations, properties);
+        }
+
+    }
+
+    static final class Entry {
+
+        final Consumer<DiscoveryExtension.Context> discoverExtension;
+        final Consumer<DiscoveryExtension.Context> afterDiscovery;
+        final Set<Class<?>> discoveredClasses;
+        final List<Extension> discoveredExtensions;
+        final List<Class<?>> alternatives;
+        final List<Class<?>> decorators;
+        final List<Class<?>> interceptors;
+        final List<Class<? extends Annotation>> alternativeStereotypes;
+
+        Entry(Consumer<DiscoveryExtension.Context> discoverExtension,
+                Consumer<DiscoveryExtension.Context> afterDiscovery,
+                Set<Class<?>> discoveredClasses, Collection<Extension> discoveredExtensions,
+                DefaultDiscoveryContext discoveryContext) {
+            this.discoverExtension = discoverExtension;
+            this.afterDiscovery = afterDiscovery;
+            this.discoveredClasses = Collections.unmodifiableSet(new LinkedHashSet<>(discoveredClasses));
+            this.discoveredExtensions = List.copyOf(discoveredExtensions);
+            this.alternatives = List.copyOf(discoveryContext.getAlternatives());
+            this.decorators = List.copyOf(discoveryContext.getDecorators());
+            this.interceptors = List.copyOf(discoveryContext.getInterceptors());
+            this.alternativeStereotypes = List.copyOf(discoveryContext.getAlternativeStereotypes());
+        }
+
+        /**
+         * Restore the discovery state into the context.
+         * <p>
+         * Extensions found during the class discovery are created again using their public no-arg constructor,
+         * so every container gets fresh extension instances.
+         *
+         * @param discoveryContext the context to restore into
+         */
+        void restore(DefaultDiscoveryContext discoveryContext) {
+            discoverExtension.accept(discoveryContext);
+            discoveredExtensions.stream()
+                    .map(Entry::recreate)
+                    .forEachOrdered(discoveryContext::extension);
+            alternatives.forEach(discoveryContext::enableAlternative);
+            decorators.forEach(discoveryContext::enableDecorator);
+            interceptors.forEach(discoveryContext::enableInterceptor);
+            alternativeStereotypes.forEach(discoveryContext::enableAlternativeStereotype);
+            afterDiscovery.accept(discoveryContext);
+        }
+
+        /**
+         * @return true if all extensions found during the class discovery have a public no-arg constructor
+         */
+        boolean isRestorable() {
+            for (Extension extension : discoveredExtensions) {
+                try {
+                    extension.getClass().getConstructor();
+                } catch (NoSuchMethodException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Extension recreate(Extension extension) {
+            try {
+                return extension.getClass().getConstructor().newInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to create extension " + extension.getClass().getName(), e);
+            }
+        }
+
+    }
+
+}
@@ -22,6 +22,7 @@ import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import jakarta.enterprise.inject.spi.Extension;
 
@@ -32,6 +33,9 @@ public interface DiscoveryExtension {
      * <p>
      * Invoked once per discovery cycle. Discovery extension may register discovery callbacks.
      * All modifications to the discovery callbacks performed outside of this method are ignored.
+     * <p>
+     * Class, field and method callbacks may be invoked concurrently for different classes. Calls to the {@link Context}
+     * are applied in the discovery order, any state kept by the extension itself must be thread-safe.
      *
      * @param bdc bootstrap discovery context to register discovery callbacks
      */
@@ -120,6 +124,40 @@ public interface DiscoveryExtension {
 
         Collection<Class<?>> scanBeanArchives(Collection<Class<?>> baseClasses);
 
+        /**
+         * Scan the packages of the base classes without loading the classes found.
+         *
+         * @param baseClasses classes to scan the packages of
+         * @return names of the classes found
+         */
+        default Collection<String> scanPackageClassNames(Collection<Class<?>> baseClasses) {
+            return scanPackages(baseClasses).stream()
+                    .map(Class::getName)
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Scan the bean archives of the base classes without loading the classes found.
+         *
+         * @param baseClasses classes to scan the bean archives of
+         * @return names of the classes found
+         */
+        default Collection<String> scanBeanArchiveClassNames(Collection<Class<?>> baseClasses) {
+            return scanBeanArchives(baseClasses).stream()
+                    .map(Class::getName)
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Ignore the classes of the packages matching the pattern, checked by class name before the classes are
+         * loaded or discovered.
+         *
+         * @param pattern package pattern, {@code *} matches a part of a package name segment, {@code **} any number of
+         *        segments
+         * @see io.github.cdiunit.IgnoredPackages
+         */
+        void ignorePackage(String pattern);
+
     }
 
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Produces;
+
+import io.github.cdiunit.IsolationLevel;
+import io.github.cdiunit.ProducerConfig;
+
+/**
+ * Outcome of the discovery for a single test configuration.
+ */
+final class DiscoveryResult {
+
+    private static final String CDI_UNIT_PACKAGE = "io.github.cdiunit";
+
+    private final DefaultDiscoveryContext discoveryContext;
+    private final Set<Class<?>> discoveredClasses;
+    private final boolean testClassDeployed;
+    private String fingerprint;
+
+    DiscoveryResult(DefaultDiscoveryContext discoveryContext, Set<Class<?>> discoveredClasses) {
+        this.discoveryContext = discoveryContext;
+        final TestConfiguration testConfiguration = discoveryContext.getTestConfiguration();
+        final Class<?> testClass = testConfiguration.getTestClass();
+        this.testClassDeployed = testConfiguration.getIsolationLevel() != IsolationLevel.SHARED
+                || contributesBeans(testClass);
+        final Set<Class<?>> classes = new LinkedHashSet<>(discoveredClasses);
+        if (!testClassDeployed) {
+            classes.remove(testClass);
+        }
+        this.discoveredClasses = Collections.unmodifiableSet(classes);
+    }
+
+    DefaultDiscoveryContext getDiscoveryContext() {
+        return discoveryContext;
+    }
+
+    TestConfiguration getTestConfiguration() {
+        return discoveryContext.getTestConfiguration();
+    }
+
+    /**
+     * Classes to add to the deployment as beans.
+     *
+     * @return discovered bean classes in the discovery order
+     */
+    Set<Class<?>> getDiscoveredClasses() {
+        return discoveredClasses;
+    }
+
+    /**
+     * Whether the test class itself is the part of the deployment.
+     * <p>
+     * With {@link IsolationLevel#SHARED} test classes which do not declare producers, disposers, observers or producer
+     * configurations are not deployed, their instances are injected as non-contextual instances instead.
+     * This allows to share the container between the test classes.
+     *
+     * @return true if the test class is deployed as a bean
+     */
+    boolean isTestClassDeployed() {
+        return testClassDeployed;
+    }
+
+    /**
+     * Fingerprint of the deployment.
+     * <p>
+     * Deployments with the same fingerprint are interchangeable: they consist of the same bean classes, alternatives,
+     * alternative stereotypes, decorators, interceptors and extensions, and activate the same scopes.
+     *
+     * @return hex encoded digest of the deployment
+     */
+    String getFingerprint() {
+        if (fingerprint == null) {
+            fingerprint = computeFingerprint();
+        }
+        return fingerprint;
+    }
+
+    private String computeFingerprint() {
+        final Class<?> testClass = getTestConfiguration().getTestClass();
+        final List<String> lines = new ArrayList<>();
+        lines.add("loader:" + System.identityHashCode(testClass.getClassLoader()));
+        if (testClassDeployed) {
+            lines.add("test:" + testClass.getName());
+        }
+        addNames(lines, "bean:", discoveredClasses);
+        addNames(lines, "alternative:", discoveryContext.getAlternatives());
+        addNames(lines, "stereotype:", discoveryContext.getAlternativeStereotypes());
+        addNames(lines, "decorator:", discoveryContext.getDecorators());
+        addNames(lines, "interceptor:", discoveryContext.getInterceptors());
+        discoveryContext.getExtensions().stream()
+                .map(extension -> "extension:" + extension.getClass().getName())
+                .sorted()
+                .forEachOrdered(lines::add);
+        // scopes to activate and other CDI-Unit settings are taken from the test class
+        cdiUnitAnnotations(testClass).stream()
+                .map(annotation -> "annotation:" + annotation)
+                .sorted()
+                .forEachOrdered(lines::add);
+        return digest(lines);
+    }
+
+    private static void addNames(List<String> lines, String prefix, Collection<? extends Class<?>> classes) {
+        classes.stream()
+                .map(cls -> prefix + cls.getName())
+                .sorted()
+                .forEachOrdered(lines::add);
+    }
+
+    private static Set<String> cdiUnitAnnotations(Class<?> testClass) {
+        final Set<String> result = new HashSet<>();
+        addCdiUnitAnnotations(result, testClass);
+        for (Class<?> c = testClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                addCdiUnitAnnotations(result, method);
+            }
+        }
+        return result;
+    }
+
+    private static void addCdiUnitAnnotations(Set<String> result, AnnotatedElement element) {
+        for (Annotation annotation : element.getAnnotations()) {
+            final Package annotationPackage = annotation.annotationType().getPackage();
+            if (annotationPackage != null && CDI_UNIT_PACKAGE.equals(annotationPackage.getName())) {
+                result.add(annotation.toString());
+            }
+        }
+    }
+
+    private static boolean contributesBeans(Class<?> testClass) {
+        for (Class<?> c = testClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            if (hasProducerConfig(c)) {
+                return true;
+            }
+            for (Field field : c.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Produces.class)) {
+                    return true;
+                }
+            }
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Produces.class) || hasProducerConfig(method)) {
+                    return true;
+                }
+                for (Parameter parameter : method.getParameters()) {
+                    if (parameter.isAnnotationPresent(Observes.class)
+                            || parameter.isAnnotationPresent(ObservesAsync.class)
+                            || parameter.isAnnotationPresent(Disposes.class)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasProducerConfig(AnnotatedElement element) {
+        return Arrays.stream(element.getAnnotations())
+                .anyMatch(annotation -> annotation.annotationType().isAnnotationPresent(ProducerConfig.class));
+    }
+
+    private static String digest(List<String> lines) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String line : lines) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            final StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw ExceptionUtils.asRuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.IOException;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Record of a class discovery: which class and member requested every class, whether it was deployed and the time
+ * spent discovering it.
+ * <p>
+ * Enabled with {@code cdi-unit.discovery.trace=json} or {@code cdi-unit.discovery.trace=dot}, the report of every
+ * test discovery is written to {@code <test class>[.<test method>].discovery.json} (or {@code .dot}) in
+ * {@code cdi-unit.reports.directory}, {@code target/cdi-unit-reports} by default. Cached and precomputed discovery
+ * results are not traced, the precomputed results are not used while tracing.
+ * <p>
+ * Not thread-safe, all calls happen on the thread processing the discovery worklist.
+ */
+final class DiscoveryTrace {
+
+    private static final Logger log = LoggerFactory.getLogger(DiscoveryTrace.class);
+
+    static final String TRACE_PROPERTY = "discovery.trace";
+
+    static final String REPORTS_DIRECTORY_PROPERTY = "reports.directory";
+
+    static final String DEFAULT_REPORTS_DIRECTORY = "target/cdi-unit-reports";
+
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    enum Format {
+        JSON,
+        DOT
+    }
+
+    enum Outcome {
+        /**
+         * Queued, but the discovery did not reach the class.
+         */
+        PENDING,
+        ACCEPTED,
+        NOT_IN_BEAN_ARCHIVE,
+        IGNORED,
+        PRIMITIVE,
+        FAILED,
+        /**
+         * Beyond the {@link DiscoveryBoundary}, mocked if not satisfied by the deployment.
+         */
+        MOCKED
+    }
+
+    private final Format format;
+
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    private Request requester = new Request(null, "test");
+
+    private DiscoveryTrace(Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Create the trace if enabled.
+     *
+     * @return new trace, null if tracing is disabled
+     */
+    static DiscoveryTrace create() {
+        final Format format = getFormat();
+        return format == null ? null : new DiscoveryTrace(format);
+    }
+
+    static boolean isEnabled() {
+        return getFormat() != null;
+    }
+
+    private static Format getFormat() {
+        final String value = CdiUnitProperties.get(TRACE_PROPERTY, null);
+        if (value == null || "false".equalsIgnoreCase(value)) {
+            return null;
+        }
+        try {
+            return Format.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid value '{}' of {}{}, expected json or dot", value, CdiUnitProperties.PREFIX,
+                    TRACE_PROPERTY);
+            return null;
+        }
+    }
+
+    /**
+     * Set the requester of the classes processed or ignored next.
+     *
+     * @param className requesting class, null if requested by the test configuration or an extension
+     * @param via what requested the classes, e.g. {@code test} or {@code extension}
+     */
+    void setRequester(String className, String via) {
+        requester = new Request(className, via);
+    }
+
+    /**
+     * Set the class member requesting the classes processed or ignored next.
+     *
+     * @param className requesting class
+     * @param member the class itself, a field or a method of it
+     */
+    void setRequester(String className, AnnotatedElement member) {
+        setRequester(className, describe(member));
+    }
+
+    private static String describe(AnnotatedElement member) {
+        if (member instanceof Field) {
+            return "field " + ((Field) member).getName();
+        }
+        if (member instanceof Method) {
+            return "method " + ((Method) member).getName();
+        }
+        if (member instanceof Class && ((Class<?>) member).isAnnotation()) {
+            return "annotation";
+        }
+        return "class";
+    }
+
+    void processed(String className) {
+        node(className).requestedBy.add(requester);
+    }
+
+    void ignored(String className) {
+        node(className).ignoredBy.add(requester);
+    }
+
+    void outcome(String className, Outcome outcome, long nanos) {
+        final Node node = node(className);
+        node.outcome = outcome;
+        node.nanos += nanos;
+    }
+
+    private Node node(String className) {
+        return nodes.computeIfAbsent(className, Node::new);
+    }
+
+    /**
+     * Write the report of the test discovery, failures are logged.
+     *
+     * @param testConfiguration the discovered test configuration
+     */
+    void write(TestConfiguration testConfiguration) {
+        final String name = testConfiguration.getTestClass().getName()
+                + (testConfiguration.getTestMethod() != null ? "." + testConfiguration.getTestMethod().getName() : "")
+                + ".discovery." + format.name().toLowerCase(Locale.ROOT);
+        final Path file = Paths.get(CdiUnitProperties.get(REPORTS_DIRECTORY_PROPERTY, DEFAULT_REPORTS_DIRECTORY))
+                .resolve(name);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, format == Format.JSON ? toJson(testConfiguration) : toDot(testConfiguration),
+                    StandardCharsets.UTF_8);
+            log.debug("Discovery trace of {} written to {}", testConfiguration.getTestClass().getName(), file);
+        } catch (IOException e) {
+            log.warn("Failed to write the discovery trace to {}", file, e);
+        }
+    }
+
+    String toJson(TestConfiguration testConfiguration) {
+        final StringBuilder sb = new StringBuilder(128 * (nodes.size() + 1));
+        sb.append("{\n  \"testClass\": ").append(quote(testConfiguration.getTestClass().getName()));
+        if (testConfiguration.getTestMethod() != null) {
+            sb.append(",\n  \"testMethod\": ").append(quote(testConfiguration.getTestMethod().getName()));
+        }
+        sb.append(",\n  \"classes\": [");
+        String separator = "\n";
+        for (Node node : nodes.values()) {
+            sb.append(separator).append("    {\"name\": ").append(quote(node.className))
+                    .append(", \"outcome\": ").append(quote(node.outcome.name().toLowerCase(Locale.ROOT)))
+                    .append(", \"nanos\": ").append(node.nanos)
+                    .append(",\n      \"requestedBy\": ");
+            appendJson(sb, node.requestedBy);
+            sb.append(",\n      \"ignoredBy\": ");
+            appendJson(sb, node.ignoredBy);
+            sb.append('}');
+            separator = ",\n";
+        }
+        return sb.append("\n  ]\n}\n").toString();
+    }
+
+    private static void appendJson(StringBuilder sb, Set<Request> requests) {
+        sb.append('[');
+        String separator = "";
+        for (Request request : requests) {
+            sb.append(separator).append('{');
+            if (request.className != null) {
+                sb.append("\"class\": ").append(quote(request.className)).append(", ");
+            }
+            sb.append("\"via\": ").append(quote(request.via)).append('}');
+            separator = ", ";
+        }
+        sb.append(']');
+    }
+
+    /**
+     * Classes are nodes, rejected classes are dashed. Requests are edges labeled with the requesting member, ignores
+     * are dotted edges. Classes requested by the test configuration or an extension have edges from a node of it.
+     */
+    String toDot(TestConfiguration testConfiguration) {
+        final StringBuilder sb = new StringBuilder(128 * (nodes.size() + 1));
+        sb.append("digraph ").append(quote(testConfiguration.getTestClass().getName())).append(" {\n")
+                .append("  node [shape=box];\n");
+        final Set<String> roots = new LinkedHashSet<>();
+        for (Node node : nodes.values()) {
+            sb.append("  ").append(quote(node.className)).append(" [label=")
+                    .append(quote(String.format(Locale.ROOT, "%s\n%s %.3f ms", node.className,
+                            node.outcome.name().toLowerCase(Locale.ROOT), node.nanos / (double) NANOS_PER_MILLI)));
+            if (node.outcome != Outcome.ACCEPTED) {
+                sb.append(", style=dashed, color=gray");
+            }
+            sb.append("];\n");
+        }
+        for (Node node : nodes.values()) {
+            appendDot(sb, roots, node, node.requestedBy, "");
+            appendDot(sb, roots, node, node.ignoredBy, ", style=dotted");
+        }
+        for (String root : roots) {
+            sb.append("  ").append(quote(root)).append(" [shape=ellipse];\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    private static void appendDot(StringBuilder sb, Set<String> roots, Node node, Set<Request> requests, String style) {
+        for (Request request : requests) {
+            final String from = request.className != null ? request.className : "(" + request.via + ")";
+            if (request.className == null) {
+                roots.add(from);
+            }
+            sb.append("  ").append(quote(from)).append(" -> ").append(quote(node.className))
+                    .append(" [label=").append(quote(request.className != null ? request.via : "")).append(style)
+                    .append("];\n");
+        }
+    }
+
+    private static String quote(String value) {
+        final StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\n') {
+                sb.append("\\n");
+                continue;
+            }
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    private static final class Node {
+
+        private final String className;
+
+        private final Set<Request> requestedBy = new LinkedHashSet<>();
+
+        private final Set<Request> ignoredBy = new LinkedHashSet<>();
+
+        private Outcome outcome = Outcome.PENDING;
+
+        private long nanos;
+
+        Node(String className) {
+            this.className = className;
+        }
+
+    }
+
+    private static final class Request {
+
+        private final String className;
+
+        private final String via;
+
+        Request(String className, String via) {
+            this.className = className;
+            this.via = via;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Request)) {
+                return false;
+            }
+            final Request other = (Request) o;
+            return Objects.equals(className, other.className) && via.equals(other.via);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(className, via);
+        }
+
+    }
+
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.inject.spi.Extension;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.cdiunit.internal.jfr.CdiUnitEvent;
+
+/**
+ * Discovery worklist processed in waves.
+ * <p>
+ * Classes queued while processing a wave form the next wave. With {@code cdi-unit.discovery.parallel=true} classes of
+ * a wave are discovered concurrently on the {@link ScanExecutor}, each against its own recording context. The recorded
+ * calls are then applied to the discovery context in the queue order, so the outcome is the same as of processing the
+ * classes one at a time: the same bean order, and classes ignored by a preceding class of the same wave are dropped.
+ * <p>
+ * Waves smaller than {@code cdi-unit.discovery.parallel-threshold} (64 classes by default) are always discovered on the
+ * calling thread.
+ * <p>
+ * With {@code cdi-unit.discovery.engine=metadata} the candidates are decided by the {@link ClassMetadataIndex} of the
+ * bean archives: every indexed class is a candidate, classes queued by name outside the index only if they are
+ * extensions, e.g. of {@code @AdditionalPackages} entries without {@code beans.xml}. The members of an indexed class are
+ * discovered only if the class declares annotated members or {@code Provider}/{@code Instance} fields.
+ */
+final class DiscoveryWorklist {
+
+    private static final Logger log = LoggerFactory.getLogger(DiscoveryWorklist.class);
+
+    static final String PARALLEL_PROPERTY = "discovery.parallel";
+
+    static final String PARALLEL_THRESHOLD_PROPERTY = "discovery.parallel-threshold";
+
+    static final int DEFAULT_PARALLEL_THRESHOLD = 64;
+
+    static final String ENGINE_PROPERTY = "discovery.engine";
+
+    static final String METADATA_ENGINE = "metadata";
+
+    private final ClasspathScanner scanner;
+
+    private final BiConsumer<DiscoveryExtension.Context, Class<?>> discoverClass;
+
+    private final BiConsumer<DiscoveryExtension.Context, Field> discoverField;
+
+    private final BiConsumer<DiscoveryExtension.Context, Method> discoverMethod;
+
+    private final boolean parallel = CdiUnitProperties.getBoolean(PARALLEL_PROPERTY, false);
+
+    private final int parallelThreshold = CdiUnitProperties.getInt(PARALLEL_THRESHOLD_PROPERTY,
+            DEFAULT_PARALLEL_THRESHOLD);
+
+    // null with the reflection engine
+    private final ClassMetadataIndex metadataIndex;
+
+    DiscoveryWorklist(ClasspathScanner scanner,
+            BiConsumer<DiscoveryExtension.Context, Class<?>> discoverClass,
+            BiConsumer<DiscoveryExtension.Context, Field> discoverField,
+            BiConsumer<DiscoveryExtension.Context, Method> discoverMethod) {
+        this.scanner = scanner;
+        this.discoverClass = discoverClass;
+        this.discoverField = discoverField;
+        this.discoverMethod = discoverMethod;
+        this.metadataIndex = isMetadataEngine() ? ClassMetadataIndex.of(scanner) : null;
+    }
+
+    static boolean isMetadataEngine() {
+        return METADATA_ENGINE.equalsIgnoreCase(CdiUnitProperties.get(ENGINE_PROPERTY, "reflection"));
+    }
+
+    /**
+     * Discover the queued classes and all classes queued while discovering them.
+     *
+     * @param discoveryContext the discovery context
+     * @return discovered classes in the discovery order
+     */
+    Set<Class<?>> process(DefaultDiscoveryContext discoveryContext) {
+        final Set<Class<?>> discoveredClasses = new LinkedHashSet<>();
+        final Set<String> classesProcessed = new HashSet<>();
+
+        while (discoveryContext.hasClassesToProcess()) {
+            final List<Map.Entry<String, Class<?>>> wave = new ArrayList<>();
+            for (Map.Entry<String, Class<?>> queued : discoveryContext.takeClassesToProcess().entrySet()) {
+                final String className = queued.getKey();
+                if (classesProcessed.contains(className)) {
+                    continue;
+                }
+                if (queued.getValue() != null && queued.getValue().isPrimitive()) {
+                    discoveryContext.traceOutcome(className, DiscoveryTrace.Outcome.PRIMITIVE, 0);
+                } else if (discoveryContext.isIgnored(className)) {
+                    discoveryContext.traceOutcome(className, DiscoveryTrace.Outcome.IGNORED, 0);
+                } else {
+                    wave.add(queued);
+                }
+            }
+            final List<Discovery> discoveries = discover(discoveryContext, wave);
+
+            for (Discovery discovery : discoveries) {
+                if (!discovery.candidate) {
+                    discoveryContext.traceOutcome(discovery.className, DiscoveryTrace.Outcome.NOT_IN_BEAN_ARCHIVE,
+                            discovery.nanos);
+                    continue;
+                }
+                // may be ignored by a preceding class of the same wave
+                if (discoveryContext.isIgnored(discovery.className)) {
+                    discoveryContext.traceOutcome(discovery.className, DiscoveryTrace.Outcome.IGNORED, discovery.nanos);
+                    continue;
+                }
+                if (discovery.failure != null && discoveryContext.isResolvedImplementation(discovery.className)) {
+                    // e.g. implementations depending on libraries missing from the classpath
+                    log.debug("Skipping implementation {}", discovery.className, discovery.failure);
+                    discoveryContext.traceOutcome(discovery.className, DiscoveryTrace.Outcome.FAILED, discovery.nanos);
+                    classesProcessed.add(discovery.className);
+                    continue;
+                }
+                discoveryContext.traceOutcome(discovery.className,
+                        discovery.failure != null ? DiscoveryTrace.Outcome.FAILED : DiscoveryTrace.Outcome.ACCEPTED,
+                        discovery.nanos);
+                classesProcessed.add(discovery.className);
+                final Class<?> cls = discovery.cls;
+                if (cls != null && !cls.isAnnotation()) {
+                    discoveredClasses.add(cls);
+                }
+                discovery.replay(discoveryContext);
+            }
+        }
+        return discoveredClasses;
+    }
+
+    private List<Discovery> discover(DefaultDiscoveryContext discoveryContext, List<Map.Entry<String, Class<?>>> wave) {
+        if (!parallel || wave.size() < parallelThreshold) {
+            return wave.stream()
+                    .map(queued -> discover(discoveryContext, queued.getKey(), queued.getValue()))
+                    .collect(Collectors.toList());
+        }
+        final TestConfiguration testConfiguration = discoveryContext.getTestConfiguration();
+        final List<CompletableFuture<Discovery>> discoveries = wave.stream()
+                .map(queued -> CompletableFuture.supplyAsync(() -> {
+                    try (CdiUnitEvent.Binding ignored = CdiUnitEvent.bindTest(testConfiguration)) {
+                        return discover(discoveryContext, queued.getKey(), queued.getValue());
+                    }
+                }, ScanExecutor.getExecutor()))
+                .collect(Collectors.toList());
+        return discoveries.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    private Discovery discover(DefaultDiscoveryContext discoveryContext, String className, Class<?> queued) {
+        final Discovery discovery = new Discovery(className, discoveryContext);
+        final long start = System.nanoTime();
+        try {
+            final boolean indexed = metadataIndex != null && metadataIndex.contains(className);
+            final Class<?> cls = queued != null ? queued : discoveryContext.loadClass(className);
+            discovery.cls = cls;
+            discovery.candidate = indexed
+                    || scanner.isContainedInBeanArchive(cls) || Extension.class.isAssignableFrom(cls);
+            if (!discovery.candidate) {
+                return discovery;
+            }
+            discovery.member = cls;
+            discoverClass.accept(discovery, cls);
+
+            if (indexed && !metadataIndex.hasDiscoverableMembers(className)) {
+                return discovery;
+            }
+            for (Field field : cls.getDeclaredFields()) {
+                discovery.member = field;
+                discoverField.accept(discovery, field);
+            }
+            for (Method method : cls.getDeclaredMethods()) {
+                discovery.member = method;
+                discoverMethod.accept(discovery, method);
+            }
+        } catch (NoClassDefFoundError ncdf) {
+            discovery.failure = new IllegalStateException(String.format("Can not discover %s", className), ncdf);
+        } catch (RuntimeException | Error e) {
+            discovery.failure = e;
+        } finally {
+            discovery.nanos = System.nanoTime() - start;
+        }
+        return discovery;
+    }
+
+    /**
+     * Discovery of a single class, records the calls to apply to the discovery context.
+     */
+    private static final class Discovery implements DiscoveryExtension.Context {
+
+        private final String className;
+
+        private final DefaultDiscoveryContext discoveryContext;
+
+        private final List<Consumer<DefaultDiscoveryContext>> operations = new ArrayList<>();
+
+        private Class<?> cls;
+
+        // the class or member being discovered, the requester of the recorded calls in the discovery trace
+        private AnnotatedElement member;
+
+        private long nanos;
+
+        // failed discoveries are replayed to rethrow the failure
+        private boolean candidate = true;
+
+        private Throwable failure;
+
+        Discovery(String className, DefaultDiscoveryContext discoveryContext) {
+            this.className = className;
+            this.discoveryContext = discoveryContext;
+        }
+
+        void replay(DefaultDiscoveryContext target) {
+            operations.forEach(operation -> operation.accept(target));
+            if (failure != null) {
+                throw ExceptionUtils.asRuntimeException(failure);
+            }
+        }
+
+        private void record(Consumer<DiscoveryExtension.Context> operation) {
+            final AnnotatedElement requester = member;
+            operations.add(context -> {
+                context.setRequester(className, requester);
+                operation.accept(context);
+            });
+        }
+
+        @Override
+        public TestConfiguration getTestConfiguration() {
+            return discoveryContext.getTestConfiguration();
+        }
+
+        @Override
+        public void processBean(String className) {
+            record(context -> context.processBean(className));
+        }
+
+        @Override
+        public void processBean(Type type) {
+            record(context -> context.processBean(type));
+        }
+
+        @Override
+        public void ignoreBean(String className) {
+            record(context -> context.ignoreBean(className));
+        }
+
+        @Override
+        public void ignoreBean(Type type) {
+            record(context -> context.ignoreBean(type));
+        }
+
+        @Override
+        public void ignorePackage(String pattern) {
+            record(context -> context.ignorePackage(pattern));
+        }
+
+        @Override
+        public void enableAlternative(String className) {
+            record(context -> context.enableAlternative(className));
+        }
+
+        @Override
+        public void enableAlternative(Class<?> alternativeClass) {
+            record(context -> context.enableAlternative(alternativeClass));
+        }
+
+        @Override
+        public void enableDecorator(String className) {
+            record(context -> context.enableDecorator(className));
+        }
+
+        @Override
+        public void enableDecorator(Class<?> decoratorClass) {
+            record(context -> context.enableDecorator(decoratorClass));
+        }
+
+        @Override
+        public void enableInterceptor(String className) {
+            record(context -> context.enableInterceptor(className));
+        }
+
+        @Override
+        public void enableInterceptor(Class<?> interceptorClass) {
+            record(context -> context.enableInterceptor(interceptorClass));
+        }
+
+        @Override
+        public void enableAlternativeStereotype(String className) {
+            record(context -> context.enableAlternativeStereotype(className));
+        }
+
+        @Override
+        public void enableAlternativeStereotype(Class<? extends Annotation> alternativeStereotypeClass) {
+            record(context -> context.enableAlternativeStereotype(alternativeStereotypeClass));
+        }
+
+        @Override
+        public void extension(Extension extension) {
+            record(context -> context.extension(extension));
+        }
+
+        @Override
+        public Collection<Class<?>> scanPackages(Collection<Class<?>> baseClasses) {
+            return discoveryContext.scanPackages(baseClasses);
+        }
+
+        @Override
+        public Collection<Class<?>> scanBeanArchives(Collection<Class<?>> baseClasses) {
+            return discoveryContext.scanBeanArchives(baseClasses);
+        }
+
+        @Override
+        public Collection<String> scanPackageClassNames(Collection<Class<?>> baseClasses) {
+            return discoveryContext.scanPackageClassNames(baseClasses);
+        }
+
+        @Override
+        public Collection<String> scanBeanArchiveClassNames(Collection<Class<?>> baseClasses) {
+            return discoveryContext.scanBeanArchiveClassNames(baseClasses);
+        }
+
+    }
+
+}
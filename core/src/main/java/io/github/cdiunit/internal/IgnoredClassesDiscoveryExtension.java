@@ -20,9 +20,10 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 
 import io.github.cdiunit.IgnoredClasses;
+import io.github.cdiunit.IgnoredPackages;
 
 /**
- * Discover IgnoredClasses feature of CDI Unit.
+ * Discover IgnoredClasses and IgnoredPackages features of CDI Unit.
  */
 public class IgnoredClassesDiscoveryExtension implements DiscoveryExtension {
 
@@ -35,6 +36,7 @@ public class IgnoredClassesDiscoveryExtension implements DiscoveryExtension {
 
     private void discoverClass(Context context, Class<?> cls) {
         discover(context, cls.getAnnotation(IgnoredClasses.class));
+        discover(context, cls.getAnnotation(IgnoredPackages.class));
     }
 
     private void discoverField(Context context, Field field) {
@@ -57,4 +59,11 @@ public class IgnoredClassesDiscoveryExtension implements DiscoveryExtension {
         Arrays.stream(ignoredClasses.late()).forEach(context::ignoreBean);
     }
 
+    private void discover(Context context, IgnoredPackages ignoredPackages) {
+        if (ignoredPackages == null) {
+            return;
+        }
+        Arrays.stream(ignoredPackages.value()).forEach(context::ignorePackage);
+    }
+
 }
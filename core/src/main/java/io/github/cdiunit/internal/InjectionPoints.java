@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Qualifier;
+
+import static io.github.cdiunit.internal.ExceptionUtils.illegalInstantiation;
+
+/**
+ * Types requested by the members being discovered.
+ */
+final class InjectionPoints {
+
+    private InjectionPoints() throws IllegalAccessException {
+        illegalInstantiation();
+    }
+
+    /**
+     * Check whether the type requested by a member is the type of an injection point: of an {@code Inject},
+     * {@code Provider} or {@code Instance} field, or of a parameter of a method. Types of producer fields and method
+     * return types are not.
+     *
+     * @param member the requesting member
+     * @param type the requested type
+     * @return true if the type is injected into the member
+     */
+    static boolean isInjected(AnnotatedElement member, Type type) {
+        if (member instanceof Field) {
+            final Field field = (Field) member;
+            return field.isAnnotationPresent(Inject.class)
+                    || field.getType() == Instance.class || field.getType() == Provider.class;
+        }
+        if (member instanceof Method) {
+            return Arrays.asList(((Method) member).getGenericParameterTypes()).contains(type);
+        }
+        return false;
+    }
+
+    /**
+     * Check whether the injection point of the type declares qualifiers other than {@code Default}, which may select
+     * one of several beans of the type.
+     *
+     * @param member the requesting member
+     * @param type the requested type
+     * @return true if the injection point is qualified
+     */
+    static boolean isQualified(AnnotatedElement member, Type type) {
+        if (member instanceof Method) {
+            final Method method = (Method) member;
+            final Type[] parameterTypes = method.getGenericParameterTypes();
+            final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+            for (int i = 0; i < parameterTypes.length && i < parameterAnnotations.length; i++) {
+                if (parameterTypes[i].equals(type) && hasQualifier(parameterAnnotations[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return member != null && hasQualifier(member.getAnnotations());
+    }
+
+    private static boolean hasQualifier(Annotation[] annotations) {
+        return Arrays.stream(annotations)
+                .map(Annotation::annotationType)
+                .anyMatch(type -> type != Default.class && type.isAnnotationPresent(Qualifier.class));
+    }
+
+    /**
+     * {@code Instance<T>} and {@code Provider<T>} resolve {@code T}.
+     *
+     * @param type the injection point type
+     * @return the type of the beans resolved by the injection point
+     */
+    static Type requiredType(Type type) {
+        if (type instanceof ParameterizedType) {
+            final ParameterizedType ptype = (ParameterizedType) type;
+            if (ptype.getRawType() == Instance.class || ptype.getRawType() == Provider.class) {
+                return ptype.getActualTypeArguments()[0];
+            }
+        }
+        return type;
+    }
+
+    /**
+     * @param type the type
+     * @return the class of the type, null for type variables, wildcards and generic arrays
+     */
+    static Class<?> rawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return null;
+    }
+
+}
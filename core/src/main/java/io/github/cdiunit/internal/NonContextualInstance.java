@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.spi.AnnotatedType;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.InjectionTarget;
+
+import org.jboss.weld.manager.api.WeldManager;
+
+/**
+ * Non-contextual instance of the class which is not deployed as a bean.
+ * <p>
+ * The instance is produced, injected and initialized by the container.
+ * {@code ProcessInjectionTarget} is fired for the class when supported by the container, so CDI-Unit extensions
+ * (e.g. mocks initialization) apply to the instance as well.
+ *
+ * @param <T> type of the instance
+ */
+public final class NonContextualInstance<T> implements AutoCloseable {
+
+    private final T instance;
+    private final InjectionTarget<T> injectionTarget;
+    private final CreationalContext<T> creationalContext;
+
+    private NonContextualInstance(T instance, InjectionTarget<T> injectionTarget, CreationalContext<T> creationalContext) {
+        this.instance = instance;
+        this.injectionTarget = injectionTarget;
+        this.creationalContext = creationalContext;
+    }
+
+    public static <T> NonContextualInstance<T> create(BeanManager beanManager, Class<T> type) {
+        final AnnotatedType<T> annotatedType = beanManager.createAnnotatedType(type);
+        final InjectionTarget<T> injectionTarget;
+        if (beanManager instanceof WeldManager) {
+            injectionTarget = ((WeldManager) beanManager).fireProcessInjectionTarget(annotatedType);
+        } else {
+            injectionTarget = beanManager.getInjectionTargetFactory(annotatedType).createInjectionTarget(null);
+        }
+        final CreationalContext<T> creationalContext = beanManager.createCreationalContext(null);
+        final T instance = injectionTarget.produce(creationalContext);
+        injectionTarget.inject(instance, creationalContext);
+        injectionTarget.postConstruct(instance);
+        return new NonContextualInstance<>(instance, injectionTarget, creationalContext);
+    }
+
+    public T get() {
+        return instance;
+    }
+
+    /**
+     * Destroy the instance.
+     */
+    @Override
+    public void close() {
+        try {
+            injectionTarget.preDestroy(instance);
+            injectionTarget.dispose(instance);
+        } finally {
+            creationalContext.release();
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Package patterns matched against class names without loading the classes.
+ * <p>
+ * A pattern is a package name where {@code *} matches a part of a single package name segment and {@code **} matches
+ * any number of segments: {@code com.acme.infra} matches the classes of the package only,
+ * {@code com.acme.infra.**} also the classes of its subpackages, {@code com.acme.*.jpa} the classes of
+ * {@code com.acme.orders.jpa} and {@code com.acme.billing.jpa}.
+ */
+final class PackagePatterns {
+
+    static final String IGNORED_PACKAGES_PROPERTY = "discovery.ignored-packages";
+
+    private final List<Pattern> patterns;
+
+    private PackagePatterns(List<Pattern> patterns) {
+        this.patterns = patterns;
+    }
+
+    /**
+     * Patterns of {@code cdi-unit.discovery.ignored-packages}, comma separated.
+     *
+     * @return new mutable patterns, initially the global ones
+     */
+    static PackagePatterns ignoredPackages() {
+        return new PackagePatterns(new ArrayList<>(Global.IGNORED_PACKAGES));
+    }
+
+    /**
+     * Patterns of the property, comma separated.
+     *
+     * @param name property name without the {@value CdiUnitProperties#PREFIX} prefix
+     * @return new mutable patterns
+     */
+    static PackagePatterns fromProperty(String name) {
+        return new PackagePatterns(new ArrayList<>(parse(CdiUnitProperties.get(name, ""))));
+    }
+
+    void add(String pattern) {
+        patterns.add(compile(pattern));
+    }
+
+    boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    /**
+     * @param className binary class name
+     * @return true if the package of the class matches any of the patterns
+     */
+    boolean matches(String className) {
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        final int lastDot = className.lastIndexOf('.');
+        final String packageName = lastDot < 0 ? "" : className.substring(0, lastDot);
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(packageName).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> parse(String patterns) {
+        return Arrays.stream(patterns.split(","))
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .map(PackagePatterns::compile)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    static Pattern compile(String pattern) {
+        final String trimmed = pattern.trim();
+        final StringBuilder regex = new StringBuilder(trimmed.length() * 2);
+        int i = 0;
+        while (i < trimmed.length()) {
+            if (trimmed.startsWith(".**", i)) {
+                regex.append("(\\.[^.]+)*");
+                i += 3;
+            } else if (trimmed.startsWith("**", i)) {
+                regex.append(".*");
+                i += 2;
+            } else if (trimmed.charAt(i) == '*') {
+                regex.append("[^.]*");
+                i++;
+            } else {
+                regex.append(Pattern.quote(String.valueOf(trimmed.charAt(i))));
+                i++;
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static final class Global {
+
+        static final List<Pattern> IGNORED_PACKAGES = parse(CdiUnitProperties.get(IGNORED_PACKAGES_PROPERTY, ""));
+
+    }
+
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opt-in persistent cache of the classpath scan results, shared between JVMs (e.g. Surefire forks).
+ * <p>
+ * The cache is enabled with the {@code cdi-unit.cache.persistent} property and stored in
+ * {@code cdi-unit.cache.directory} ({@value #DEFAULT_DIRECTORY} by default). Every entry records the stamps of
+ * the classpath entries it was computed from and is discarded when any of them changes. The
+ * {@code cdi-unit.cache.validation} property selects the stamp: {@code timestamp} (default) uses file size and
+ * modification time, {@code hash} uses the file content. Stamps are computed once per classpath entry and JVM, changes
+ * made while the JVM runs are not detected.
+ * <p>
+ * Entries are stored one per file in a compact binary format and read through memory mapping.
+ */
+final class PersistentScanCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentScanCache.class);
+
+    static final String ENABLED_PROPERTY = "cache.persistent";
+
+    static final String DIRECTORY_PROPERTY = "cache.directory";
+
+    static final String VALIDATION_PROPERTY = "cache.validation";
+
+    static final String DEFAULT_DIRECTORY = "target/cdi-unit-cache";
+
+    private static final int MAGIC = 0xCD1CAC4E;
+
+    private static final int VERSION = 1;
+
+    private static final PersistentScanCache DISABLED = new PersistentScanCache(null, false);
+
+    // stamps of the classpath entries by the validation mode and URL
+    private static final Map<String, Long> stamps = new ConcurrentHashMap<>();
+
+    private final Path directory;
+
+    private final boolean hashContent;
+
+    PersistentScanCache(Path directory, boolean hashContent) {
+        this.directory = directory;
+        this.hashContent = hashContent;
+    }
+
+    static PersistentScanCache fromProperties() {
+        if (!CdiUnitProperties.getBoolean(ENABLED_PROPERTY, false)) {
+            return DISABLED;
+        }
+        final Path directory = Paths.get(CdiUnitProperties.get(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY));
+        final boolean hashContent = "hash".equalsIgnoreCase(CdiUnitProperties.get(VALIDATION_PROPERTY, "timestamp"));
+        return new PersistentScanCache(directory, hashContent);
+    }
+
+    boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Lookup the stored value or compute and store it.
+     *
+     * @param key unique key of the value
+     * @param sources classpath entries the value is computed from
+     * @param computeValue value supplier
+     * @return stored value if it is still valid, computed value otherwise
+     */
+    List<String> computeIfAbsent(String key, Collection<URL> sources, Supplier<List<String>> computeValue) {
+        if (!isEnabled()) {
+            return computeValue.get();
+        }
+        final Path file = directory.resolve(toHex(digest(key.getBytes(StandardCharsets.UTF_8))) + ".bin");
+        final List<String> stored = read(file, key);
+        if (stored != null) {
+            log.trace("Persistent cache hit for {}", key);
+            return stored;
+        }
+        final List<String> value = computeValue.get();
+        write(file, key, sources, value);
+        return value;
+    }
+
+    List<URL> computeUrlsIfAbsent(String key, Collection<URL> sources, Supplier<? extends Collection<URL>> computeValue) {
+        return computeIfAbsent(key, sources, () -> computeValue.get().stream()
+                .map(URL::toString)
+                .collect(Collectors.toList()))
+                .stream()
+                .map(PersistentScanCache::toURL)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> read(Path file, String key) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.get() != (hashContent ? 1 : 0)
+                    || !key.equals(readString(buffer))) {
+                return null;
+            }
+            final int sourceCount = readCount(buffer);
+            for (int i = 0; i < sourceCount; i++) {
+                final URL source = toURL(readString(buffer));
+                if (buffer.getLong() != memoizedStamp(source)) {
+                    log.debug("Persistent cache entry for {} is stale, {} changed", key, source);
+                    return null;
+                }
+            }
+            final int valueCount = readCount(buffer);
+            final List<String> value = new ArrayList<>(valueCount);
+            for (int i = 0; i < valueCount; i++) {
+                value.add(readString(buffer));
+            }
+            return value;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            log.debug("Unable to read persistent cache entry {}", file, e);
+            return null;
+        }
+    }
+
+    private void write(Path file, String key, Collection<URL> sources, List<String> value) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeByte(hashContent ? 1 : 0);
+                writeString(out, key);
+                out.writeInt(sources.size());
+                for (URL source : sources) {
+                    writeString(out, source.toString());
+                    out.writeLong(memoizedStamp(source));
+                }
+                out.writeInt(value.size());
+                for (String s : value) {
+                    writeString(out, s);
+                }
+            }
+            Files.createDirectories(directory);
+            // forks may write the same entry concurrently, publish complete files only
+            final Path temp = Files.createTempFile(directory, "entry", ".tmp");
+            try {
+                Files.write(temp, bytes.toByteArray());
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to write persistent cache entry {}", file, e);
+        }
+    }
+
+    /**
+     * Read the element count, every element takes at least 4 bytes.
+     */
+    private static int readCount(ByteBuffer buffer) {
+        final int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / Integer.BYTES) {
+            throw new IllegalArgumentException("Invalid element count " + count);
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private long memoizedStamp(URL source) throws IOException {
+        final String key = (hashContent ? "hash:" : "timestamp:") + source;
+        final Long stamp = stamps.get(key);
+        if (stamp != null) {
+            return stamp;
+        }
+        final long computed = stamp(source, hashContent);
+        stamps.putIfAbsent(key, computed);
+        return computed;
+    }
+
+    /**
+     * Forget the stamps computed so far, the next lookups see the current state of the classpath entries.
+     */
+    static void clearStamps() {
+        stamps.clear();
+    }
+
+    /**
+     * Compute the stamp of the classpath entry.
+     * Directories are stamped by the relative paths and stamps of all contained files, except the precomputed
+     * discovery results which are written into the test classes after compilation.
+     */
+    static long stamp(URL source, boolean hashContent) throws IOException {
+        final Path path;
+        try {
+            path = Paths.get(source.toURI());
+        } catch (Exception e) {
+            // not a file system entry, can not be validated
+            return 0;
+        }
+        if (!Files.exists(path)) {
+            return -1;
+        }
+        final MessageDigest digest = newDigest();
+        if (Files.isDirectory(path)) {
+            final List<Path> files;
+            try (Stream<Path> walk = Files.walk(path)) {
+                files = walk.filter(Files::isRegularFile)
+                        .filter(file -> !path.relativize(file).startsWith(PrecomputedDiscovery.DIRECTORY))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                digest.update(path.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                updateDigest(digest, file, hashContent);
+            }
+        } else {
+            updateDigest(digest, path, hashContent);
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private static void updateDigest(MessageDigest digest, Path file, boolean hashContent) throws IOException {
+        if (hashContent) {
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+        } else {
+            final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            digest.update(ByteBuffer.allocate(2 * Long.BYTES)
+                    .putLong(attributes.size())
+                    .putLong(attributes.lastModifiedTime().toMillis())
+                    .array());
+        }
+    }
+
+    private static URL toURL(String url) {
+        try {
+            return new URL(url);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] digest(byte[] bytes) {
+        return newDigest().digest(bytes);
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.inject.spi.Extension;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.classgraph.AnnotationClassRef;
+import io.github.classgraph.AnnotationInfo;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+
+import static io.github.cdiunit.internal.ExceptionUtils.illegalInstantiation;
+
+/**
+ * Discovery results computed at build time by the {@code cdi-unit-maven-plugin}.
+ * <p>
+ * Every result is stored in {@code META-INF/cdi-unit/<test class>.discovery} of the test classes together with the
+ * stamps of the bean archives and the values of the global discovery properties it was computed with. A result is used
+ * instead of the classpath scanning and class discovery while all stamps and property values match,
+ * {@code cdi-unit.discovery.precomputed=false} disables the lookup.
+ * <p>
+ * Results are written only for test classes without additional classes whose extensions, except the ones registered
+ * when the discovery starts, have public no-arg constructors.
+ */
+public final class PrecomputedDiscovery {
+
+    private static final Logger log = LoggerFactory.getLogger(PrecomputedDiscovery.class);
+
+    static final String ENABLED_PROPERTY = "discovery.precomputed";
+
+    static final String DIRECTORY = "META-INF/cdi-unit";
+
+    static final String SUFFIX = ".discovery";
+
+    private static final String VERSION = "1";
+
+    // runner, extension and listener classes of the supported test frameworks
+    private static final Map<String, String> TEST_ANNOTATIONS = Map.of(
+            "org.junit.runner.RunWith", "io.github.cdiunit.CdiRunner",
+            "org.junit.jupiter.api.extension.ExtendWith", "io.github.cdiunit.junit5.CdiJUnit5Extension",
+            "org.testng.annotations.Listeners", "io.github.cdiunit.NgCdiListener");
+
+    private static final String TESTNG_RUNNER = "io.github.cdiunit.NgCdiRunner";
+
+    // stamps of the classpath entries are computed once per JVM
+    private static final Map<String, Long> stamps = new ConcurrentHashMap<>();
+
+    private PrecomputedDiscovery() throws IllegalAccessException {
+        illegalInstantiation();
+    }
+
+    /**
+     * Compute and store the discovery results of the test classes.
+     * <p>
+     * Expects the test classes and their dependencies on the class path of the class loader of this class.
+     *
+     * @param testOutputDirectory directory of the compiled test classes
+     * @param testClassNames test classes to compute the results for, all CDI-Unit test classes if empty
+     * @return number of the results stored
+     */
+    public static int generate(Path testOutputDirectory, Collection<String> testClassNames) {
+        final Collection<String> classNames = testClassNames.isEmpty()
+                ? findTestClasses(testOutputDirectory)
+                : testClassNames;
+        int stored = 0;
+        for (String className : classNames) {
+            final Path file = testOutputDirectory.resolve(DIRECTORY).resolve(className + SUFFIX);
+            try {
+                final List<String> lines = compute(loadClass(className));
+                if (lines.isEmpty()) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                write(file, lines);
+                stored++;
+            } catch (IOException e) {
+                throw ExceptionUtils.asRuntimeException(e);
+            } catch (RuntimeException | LinkageError e) {
+                log.warn("Unable to precompute the discovery of {}", className, e);
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Load the precomputed discovery result of the test configuration.
+     *
+     * @param testConfiguration the test configuration
+     * @param discoverExtension supplier of the callback registering the extensions when the discovery starts
+     * @return the stored discovery result, null if missing, stale, not applicable, or the discovery is traced, bounded
+     *         or resolves implementations
+     */
+    static DiscoveryCache.Entry load(TestConfiguration testConfiguration,
+            Supplier<Consumer<DiscoveryExtension.Context>> discoverExtension) {
+        if (!CdiUnitProperties.getBoolean(ENABLED_PROPERTY, true)
+                || !testConfiguration.getAdditionalClasses().isEmpty()
+                || DiscoveryTrace.isEnabled()
+                || DiscoveryBoundary.isEnabled()
+                || SubtypeIndex.isEnabled()) {
+            return null;
+        }
+        final Class<?> testClass = testConfiguration.getTestClass();
+        final URL resource = PrecomputedDiscovery.class.getClassLoader()
+                .getResource(DIRECTORY + "/" + testClass.getName() + SUFFIX);
+        if (resource == null) {
+            return null;
+        }
+        try {
+            final Map<String, List<String>> values = read(resource);
+            if (!List.of(VERSION).equals(values.get("version"))
+                    || !discoveryProperties().equals(values.getOrDefault("property", List.of()))
+                    || !isFresh(values.getOrDefault("source", List.of()))) {
+                log.debug("Precomputed discovery of {} is stale", testClass.getName());
+                return null;
+            }
+            final DefaultDiscoveryContext discoveryContext = new DefaultDiscoveryContext(
+                    new CachingClassGraphScanner(new DefaultBeanArchiveScanner()), testConfiguration);
+            final Set<Class<?>> discoveredClasses = new LinkedHashSet<>();
+            values.getOrDefault("bean", List.of()).forEach(name -> discoveredClasses.add(loadClass(name)));
+            values.getOrDefault("alternative", List.of()).forEach(discoveryContext::enableAlternative);
+            values.getOrDefault("decorator", List.of()).forEach(discoveryContext::enableDecorator);
+            values.getOrDefault("interceptor", List.of()).forEach(discoveryContext::enableInterceptor);
+            values.getOrDefault("alternative-stereotype", List.of()).forEach(discoveryContext::enableAlternativeStereotype);
+            final List<Extension> extensions = new ArrayList<>();
+            for (String name : values.getOrDefault("extension", List.of())) {
+                extensions.add((Extension) loadClass(name).getConstructor().newInstance());
+            }
+            log.debug("Using precomputed discovery of {}", testClass.getName());
+            return new DiscoveryCache.Entry(discoverExtension.get(), context -> {
+            }, discoveredClasses, extensions, discoveryContext);
+        } catch (Exception | LinkageError e) {
+            log.debug("Unable to use precomputed discovery of {}", testClass.getName(), e);
+            return null;
+        }
+    }
+
+    private static List<String> compute(Class<?> testClass) {
+        final TestConfiguration testConfiguration = new TestConfiguration(testClass, null);
+        final DiscoveryResult result = WeldHelper.discover(testConfiguration, DiscoveryCache.Key.of(testConfiguration));
+        final DefaultDiscoveryContext discoveryContext = result.getDiscoveryContext();
+
+        final ClasspathScanner scanner = new CachingClassGraphScanner(new DefaultBeanArchiveScanner());
+        final DefaultDiscoveryContext bootstrapContext = new DefaultDiscoveryContext(scanner, testConfiguration);
+        WeldHelper.bootstrap().discoverExtension.accept(bootstrapContext);
+        final List<Extension> extensions = discoveryContext.getExtensions().stream()
+                .skip(bootstrapContext.getExtensions().size())
+                .collect(Collectors.toList());
+        for (Extension extension : extensions) {
+            if (!hasPublicConstructor(extension.getClass())) {
+                log.debug("Discovery of {} is not precomputed, {} can not be created again", testClass.getName(),
+                        extension.getClass().getName());
+                return List.of();
+            }
+        }
+
+        final Set<URL> sources = new TreeSet<>(Comparator.comparing(URL::toString));
+        sources.addAll(scanner.getBeanArchives());
+        Optional.ofNullable(scanner.getClasspathURL(testClass)).ifPresent(sources::add);
+
+        final List<String> lines = new ArrayList<>();
+        lines.add("# CDI-Unit precomputed discovery of " + testClass.getName());
+        lines.add("version=" + VERSION);
+        for (URL source : sources) {
+            lines.add("source=" + stamp(source.toString()) + " " + source);
+        }
+        discoveryProperties().forEach(property -> lines.add("property=" + property));
+        addAll(lines, "bean", result.getDiscoveredClasses());
+        addAll(lines, "alternative", discoveryContext.getAlternatives());
+        addAll(lines, "decorator", discoveryContext.getDecorators());
+        addAll(lines, "interceptor", discoveryContext.getInterceptors());
+        addAll(lines, "alternative-stereotype", discoveryContext.getAlternativeStereotypes());
+        addAll(lines, "extension", extensions.stream().map(Object::getClass).collect(Collectors.toList()));
+        return lines;
+    }
+
+    /**
+     * Values of the global properties changing the discovery outcome, unset properties are listed by name only.
+     */
+    private static List<String> discoveryProperties() {
+        final List<String> properties = new ArrayList<>(DiscoveryCache.DISCOVERY_PROPERTIES.size());
+        for (String name : DiscoveryCache.DISCOVERY_PROPERTIES) {
+            final String value = CdiUnitProperties.get(name);
+            properties.add(value == null ? name : name + "=" + value);
+        }
+        return properties;
+    }
+
+    private static void addAll(List<String> lines, String key, Collection<? extends Class<?>> classes) {
+        classes.forEach(cls -> lines.add(key + "=" + cls.getName()));
+    }
+
+    private static boolean hasPublicConstructor(Class<?> cls) {
+        try {
+            cls.getConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static void write(Path file, List<String> lines) throws IOException {
+        if (Files.isRegularFile(file) && Files.readAllLines(file, StandardCharsets.UTF_8).equals(lines)) {
+            // keep the file untouched to not invalidate the up-to-date checks of the build
+            return;
+        }
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, List<String>> read(URL resource) throws IOException {
+        final Map<String, List<String>> values = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int separator = line.indexOf('=');
+                if (line.startsWith("#") || separator < 0) {
+                    continue;
+                }
+                values.computeIfAbsent(line.substring(0, separator), key -> new ArrayList<>())
+                        .add(line.substring(separator + 1));
+            }
+        }
+        return values;
+    }
+
+    private static boolean isFresh(List<String> sources) {
+        for (String source : sources) {
+            final int separator = source.indexOf(' ');
+            if (separator < 0 || !source.substring(0, separator).equals(stamp(source.substring(separator + 1)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String stamp(String source) {
+        return Long.toHexString(stamps.computeIfAbsent(source, url -> {
+            try {
+                return PersistentScanCache.stamp(new URL(url), false);
+            } catch (IOException e) {
+                throw ExceptionUtils.asRuntimeException(e);
+            }
+        }));
+    }
+
+    private static Collection<String> findTestClasses(Path testOutputDirectory) {
+        try (ScanResult scan = new ClassGraph()
+                .enableClassInfo()
+                .enableAnnotationInfo()
+                .ignoreClassVisibility()
+                .overrideClasspath(testOutputDirectory.toFile())
+                .scan()) {
+            return scan.getAllStandardClasses().stream()
+                    .filter(classInfo -> !classInfo.isAbstract())
+                    .filter(PrecomputedDiscovery::isTestClass)
+                    .map(ClassInfo::getName)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isTestClass(ClassInfo classInfo) {
+        if (classInfo.extendsSuperclass(TESTNG_RUNNER)) {
+            return true;
+        }
+        for (Map.Entry<String, String> entry : TEST_ANNOTATIONS.entrySet()) {
+            final AnnotationInfo annotationInfo = classInfo.getAnnotationInfo(entry.getKey());
+            if (annotationInfo != null && references(annotationInfo.getParameterValues().getValue("value"),
+                    entry.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean references(Object value, String className) {
+        if (value instanceof AnnotationClassRef) {
+            return className.equals(((AnnotationClassRef) value).getName());
+        }
+        if (value instanceof Object[]) {
+            return Arrays.stream((Object[]) value).anyMatch(element -> references(element, className));
+        }
+        return false;
+    }
+
+    private static Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name, false, PrecomputedDiscovery.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw ExceptionUtils.asRuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.github.cdiunit.internal.jfr.ScanCacheStatisticsEvent;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Bounded in-memory cache of the classpath scan results.
+ * <p>
+ * Results are evicted in the least recently used order once their total weight, the number of class names and URLs
+ * they hold, exceeds {@code cdi-unit.scanner.cache-weight} (1,000,000 by default), the value of 0 disables the cache.
+ * Class path URLs of class loaders are kept with weak class loader keys, so the cache does not retain discarded
+ * class loaders. Concurrent lookups of the same missing key wait for a single scan.
+ * <p>
+ * The hit, miss and eviction counters and the total scan time are available from {@link #getInstance()} and recorded
+ * periodically as the {@code io.github.cdiunit.ScanCacheStatistics} JFR event.
+ */
+public final class ScanCache {
+
+    static final String WEIGHT_PROPERTY = "scanner.cache-weight";
+
+    static final int DEFAULT_MAX_WEIGHT = 1_000_000;
+
+    /**
+     * Key prefix of the results derived from the class files of the bean archives, see {@link #invalidateDerived()}.
+     */
+    static final String DERIVED_PREFIX = "derived:";
+
+    private static final ScanCache INSTANCE = new ScanCache(
+            CdiUnitProperties.getInt(WEIGHT_PROPERTY, DEFAULT_MAX_WEIGHT));
+
+    static {
+        FlightRecorder.addPeriodicEvent(ScanCacheStatisticsEvent.class, INSTANCE::recordStatistics);
+    }
+
+    private final long maxWeight;
+
+    // access order gives LRU iteration order
+    private final Map<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<ClassLoader, Object> classLoaderEntries = new WeakHashMap<>();
+
+    private final Map<Object, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+
+    private long weight;
+
+    // changes whenever cached results are dropped
+    private volatile long generation;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder scanNanos = new LongAdder();
+
+    ScanCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public static ScanCache getInstance() {
+        return INSTANCE;
+    }
+
+    @SuppressWarnings("unchecked")
+    <V> V computeIfAbsent(Object key, Supplier<V> computeValue) {
+        final Object cached = get(key);
+        if (cached != null) {
+            hits.increment();
+            return (V) cached;
+        }
+        return (V) load(key, computeValue);
+    }
+
+    private Object load(Object key, Supplier<?> computeValue) {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        final CompletableFuture<Object> loading = pending.putIfAbsent(key, future);
+        if (loading != null) {
+            hits.increment();
+            return await(loading);
+        }
+        try {
+            // may be stored after the lookup
+            Object value = get(key);
+            if (value != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                final long start = System.nanoTime();
+                value = computeValue.get();
+                scanNanos.add(System.nanoTime() - start);
+                put(key, value);
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            pending.remove(key, future);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            throw ExceptionUtils.asRuntimeException(e.getCause());
+        }
+    }
+
+    private synchronized Object get(Object key) {
+        if (key instanceof ClassLoader) {
+            return classLoaderEntries.get(key);
+        }
+        final Entry entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    private synchronized void put(Object key, Object value) {
+        if (maxWeight <= 0) {
+            return;
+        }
+        if (key instanceof ClassLoader) {
+            classLoaderEntries.put((ClassLoader) key, value);
+            return;
+        }
+        final Entry entry = new Entry(value);
+        final Entry replaced = entries.put(key, entry);
+        weight += entry.weight - (replaced == null ? 0 : replaced.weight);
+        final Iterator<Entry> iterator = entries.values().iterator();
+        // the most recent entry is kept even if it exceeds the limit alone
+        while (weight > maxWeight && entries.size() > 1) {
+            weight -= iterator.next().weight;
+            iterator.remove();
+            evictions.increment();
+            generation++;
+        }
+    }
+
+    /**
+     * Drop the results derived from the class files of the bean archives, e.g. after the watched archives changed.
+     */
+    synchronized void invalidateDerived() {
+        final Iterator<Map.Entry<Object, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Object, Entry> entry = iterator.next();
+            if (entry.getKey() instanceof String && ((String) entry.getKey()).startsWith(DERIVED_PREFIX)) {
+                weight -= entry.getValue().weight;
+                iterator.remove();
+            }
+        }
+        generation++;
+    }
+
+    /**
+     * Drop all cached results, including the indexes derived from the scans and the bean archive probes, e.g. to measure
+     * cold scans.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        classLoaderEntries.clear();
+        weight = 0;
+        generation++;
+    }
+
+    /**
+     * Generation of the cache content, derived results are valid while it is unchanged.
+     *
+     * @return the generation, changed on every eviction and clear
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return total time spent computing the missing entries
+     */
+    public Duration getScanTime() {
+        return Duration.ofNanos(scanNanos.sum());
+    }
+
+    public synchronized int size() {
+        return entries.size() + classLoaderEntries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    private void recordStatistics() {
+        final ScanCacheStatisticsEvent event = new ScanCacheStatisticsEvent();
+        event.hits = getHitCount();
+        event.misses = getMissCount();
+        event.evictions = getEvictionCount();
+        event.scanTime = scanNanos.sum();
+        event.size = size();
+        event.weight = getWeight();
+        event.commit();
+    }
+
+    private static final class Entry {
+
+        final Object value;
+
+        final long weight;
+
+        Entry(Object value) {
+            this.value = value;
+            this.weight = 1 + weigh(value);
+        }
+
+        private static long weigh(Object value) {
+            if (value instanceof Collection) {
+                return ((Collection<?>) value).size();
+            }
+            if (value instanceof ClasspathIndex) {
+                return ((ClasspathIndex) value).size();
+            }
+            if (value instanceof SubtypeIndex) {
+                return ((SubtypeIndex) value).size();
+            }
+            if (value instanceof ClassMetadataIndex) {
+                return ((ClassMetadataIndex) value).size();
+            }
+            return 0;
+        }
+
+    }
+
+}
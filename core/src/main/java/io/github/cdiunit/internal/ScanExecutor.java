@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor of the ClassGraph scans.
+ * <p>
+ * {@code cdi-unit.scanner.executor} selects the executor:
+ * <ul>
+ * <li>{@code pool} (default) - a pool of {@code cdi-unit.scanner.threads} daemon threads, idle threads exit after
+ * a minute so they do not compete with the test threads;</li>
+ * <li>{@code virtual} - a virtual thread per task, Java 21 and later;</li>
+ * <li>{@code caller} - the scan runs on the calling thread.</li>
+ * </ul>
+ * The executor is shut down at JVM exit.
+ */
+final class ScanExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(ScanExecutor.class);
+
+    static final String EXECUTOR_PROPERTY = "scanner.executor";
+
+    static final String THREADS_PROPERTY = "scanner.threads";
+
+    /**
+     * The default number of worker threads to use while scanning. This number gave the best results on a relatively
+     * modern laptop with SSD, while scanning a large classpath.
+     */
+    static final int DEFAULT_THREADS = Math.max(
+            // Always scan with at least 2 threads
+            2, //
+            (int) Math.ceil(
+                    // Num IO threads (top out at 4, since most I/O devices won't scale better than this)
+                    Math.min(4.0f, Runtime.getRuntime().availableProcessors() * 0.75f)
+                            // Num scanning threads (higher than available processors, because some threads can be blocked)
+                            + Runtime.getRuntime().availableProcessors() * 1.25f) //
+    );
+
+    private static final ScanExecutor INSTANCE = create();
+
+    final ExecutorService executor;
+
+    final int parallelism;
+
+    private ScanExecutor(ExecutorService executor, int parallelism) {
+        this.executor = executor;
+        this.parallelism = parallelism;
+        Runtime.getRuntime().addShutdownHook(new Thread(executor::shutdown, "cdi-unit-scan-shutdown"));
+    }
+
+    static ExecutorService getExecutor() {
+        return INSTANCE.executor;
+    }
+
+    /**
+     * @return number of the parallel scanning tasks
+     */
+    static int getParallelism() {
+        return INSTANCE.parallelism;
+    }
+
+    static ScanExecutor create() {
+        final int threads = Math.max(1, CdiUnitProperties.getInt(THREADS_PROPERTY, DEFAULT_THREADS));
+        final String type = CdiUnitProperties.get(EXECUTOR_PROPERTY, "pool").toLowerCase(Locale.ROOT);
+        switch (type) {
+            case "caller":
+                // ClassGraph runs the scan as a single task, which does not start workers with one parallel task
+                return new ScanExecutor(new CallerRunsExecutorService(), 1);
+            case "virtual":
+                try {
+                    final ExecutorService virtual = (ExecutorService) Executors.class
+                            .getMethod("newVirtualThreadPerTaskExecutor")
+                            .invoke(null);
+                    return new ScanExecutor(virtual, threads);
+                } catch (ReflectiveOperationException e) {
+                    log.warn("Virtual threads are not available, using the thread pool", e);
+                }
+                break;
+            case "pool":
+                break;
+            default:
+                log.warn("Unknown {} '{}', using the thread pool", EXECUTOR_PROPERTY, type);
+        }
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), new DaemonThreadFactory());
+        pool.allowCoreThreadTimeOut(true);
+        return new ScanExecutor(pool, threads);
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "cdi-unit-scan-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+    /**
+     * Runs the tasks on the submitting thread.
+     */
+    private static final class CallerRunsExecutorService extends AbstractExecutorService {
+
+        private volatile boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return shutdown;
+        }
+
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.cdiunit.IsolationLevel;
+
+/**
+ * JVM-wide pool of initialized Weld containers used by {@link IsolationLevel#SHARED}.
+ * <p>
+ * Containers are keyed by the fingerprint of the discovered deployment, see {@link DiscoveryResult#getFingerprint()}.
+ * The pool keeps at most {@code cdi-unit.shared.max-containers} idle containers (4 by default), least recently used
+ * containers are shut down first. Remaining containers are shut down at JVM exit.
+ */
+public enum SharedContainerPool {
+
+    INSTANCE;
+
+    private static final Logger log = LoggerFactory.getLogger(SharedContainerPool.class);
+
+    static final String MAX_CONTAINERS_PROPERTY = "shared.max-containers";
+
+    static final int DEFAULT_MAX_CONTAINERS = 4;
+
+    // access order gives LRU iteration order
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private boolean shutdownHookRegistered;
+
+    /**
+     * Acquire the container matching the test configuration, initialize one if there is no matching container.
+     *
+     * @param testConfiguration test configuration to discover the deployment for
+     * @return the lease of the container, must be closed once the container is not used anymore
+     */
+    public Lease acquire(TestConfiguration testConfiguration) {
+        final DiscoveryResult discovery = WeldHelper.discover(testConfiguration);
+        final String fingerprint = discovery.getFingerprint();
+        final Entry entry;
+        synchronized (entries) {
+            registerShutdownHook();
+            entry = entries.computeIfAbsent(fingerprint, key -> new Entry(key, discovery));
+            entry.leases++;
+        }
+        try {
+            return new Lease(entry, entry.container(), discovery.isTestClassDeployed());
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                entry.leases--;
+                entries.remove(fingerprint, entry);
+            }
+            throw e;
+        }
+    }
+
+    private void release(Entry entry) {
+        final List<Entry> evicted = new ArrayList<>();
+        synchronized (entries) {
+            entry.leases--;
+            final int maxContainers = Math.max(0,
+                    CdiUnitProperties.getInt(MAX_CONTAINERS_PROPERTY, DEFAULT_MAX_CONTAINERS));
+            final Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > maxContainers && iterator.hasNext()) {
+                final Entry candidate = iterator.next();
+                if (candidate.leases == 0) {
+                    iterator.remove();
+                    evicted.add(candidate);
+                }
+            }
+        }
+        evicted.forEach(Entry::shutdown);
+    }
+
+    private void registerShutdownHook() {
+        if (shutdownHookRegistered) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdownAll, "cdi-unit-shared-containers-shutdown"));
+        shutdownHookRegistered = true;
+    }
+
+    /**
+     * Shutdown all pooled containers.
+     */
+    public void shutdownAll() {
+        final List<Entry> evicted;
+        synchronized (entries) {
+            evicted = new ArrayList<>(entries.values());
+            entries.clear();
+        }
+        evicted.forEach(Entry::shutdown);
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+        private DiscoveryResult discovery;
+        private Weld weld;
+        private WeldContainer container;
+        private int leases;
+
+        Entry(String fingerprint, DiscoveryResult discovery) {
+            this.fingerprint = fingerprint;
+            this.discovery = discovery;
+        }
+
+        synchronized WeldContainer container() {
+            if (container == null) {
+                log.debug("Initializing shared container {} for {}", fingerprint,
+                        discovery.getTestConfiguration().getTestClass());
+                final Weld newWeld = WeldHelper.createWeld(discovery);
+                container = WeldHelper.initialize(newWeld, discovery.getTestConfiguration());
+                weld = newWeld;
+                // discovery results are not needed anymore, don't keep them alive
+                discovery = null;
+            }
+            return container;
+        }
+
+        synchronized void shutdown() {
+            if (weld == null) {
+                return;
+            }
+            log.debug("Shutting down shared container {}", fingerprint);
+            try {
+                if (container.isRunning()) {
+                    weld.shutdown();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Unable to shutdown shared container {}", fingerprint, e);
+            } finally {
+                weld = null;
+                container = null;
+            }
+        }
+
+    }
+
+    /**
+     * Lease of the shared container.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Entry entry;
+        private final WeldContainer container;
+        private final boolean testClassDeployed;
+        private boolean released;
+
+        private Lease(Entry entry, WeldContainer container, boolean testClassDeployed) {
+            this.entry = entry;
+            this.container = container;
+            this.testClassDeployed = testClassDeployed;
+        }
+
+        public WeldContainer getContainer() {
+            return container;
+        }
+
+        /**
+         * Whether the test class is deployed as a bean.
+         * Test instances must be created as non-contextual instances otherwise.
+         *
+         * @return true if the test class is deployed as a bean.
+         */
+        public boolean isTestClassDeployed() {
+            return testClassDeployed;
+        }
+
+        /**
+         * Return the container to the pool.
+         */
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            release(entry);
+        }
+
+    }
+
+}
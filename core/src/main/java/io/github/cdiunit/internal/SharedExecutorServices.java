@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.jboss.weld.bootstrap.api.CDI11Bootstrap;
+import org.jboss.weld.bootstrap.spi.Deployment;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.executor.AbstractExecutorServices;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JVM-wide Weld {@link ExecutorServices} registered with every test container.
+ * <p>
+ * Weld creates its thread pools at bootstrap and destroys them at shutdown unless the deployment provides the
+ * service. The shared pool is a work-stealing pool with daemon threads, or virtual threads on Java 21 and later
+ * with {@code cdi-unit.executor.virtual=true}. Container shutdown leaves it running.
+ * <p>
+ * Disabled with {@code cdi-unit.executor.shared=false}, Weld configures its own pools then. Test classes configuring
+ * the Weld executor explicitly with {@code org.jboss.weld.executor.*} properties get the pools of Weld as well.
+ */
+final class SharedExecutorServices extends AbstractExecutorServices {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedExecutorServices.class);
+
+    static final String SHARED_PROPERTY = "executor.shared";
+
+    static final String VIRTUAL_PROPERTY = "executor.virtual";
+
+    private final ExecutorService executor;
+
+    private final int threadPoolSize;
+
+    private SharedExecutorServices(ExecutorService executor, int threadPoolSize) {
+        this.executor = executor;
+        this.threadPoolSize = threadPoolSize;
+    }
+
+    /**
+     * Create Weld registering the shared executor services with the deployment.
+     *
+     * @param containerId the container id
+     * @param testClass the test class
+     * @return new Weld instance
+     */
+    static Weld newWeld(String containerId, Class<?> testClass) {
+        if (!CdiUnitProperties.getBoolean(SHARED_PROPERTY, true)) {
+            return new Weld(containerId);
+        }
+        if (WeldBootstrapProperties.isExecutorConfigured(testClass)) {
+            log.debug("Weld executor of {} is configured explicitly, not using the shared executor", testClass.getName());
+            return new Weld(containerId);
+        }
+        return new Weld(containerId) {
+
+            @Override
+            protected Deployment createDeployment(ResourceLoader resourceLoader, CDI11Bootstrap bootstrap) {
+                final Deployment deployment = super.createDeployment(resourceLoader, bootstrap);
+                deployment.getServices().add(ExecutorServices.class, Holder.INSTANCE);
+                return deployment;
+            }
+
+        };
+    }
+
+    @Override
+    public ExecutorService getTaskExecutor() {
+        return executor;
+    }
+
+    @Override
+    protected int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    /**
+     * Tasks may run on threads created by another test, so they run with the context class loader of the caller.
+     */
+    @Override
+    public <T> List<Future<T>> invokeAllAndCheckForExceptions(Collection<? extends Callable<T>> tasks) {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final List<Callable<T>> wrapped = tasks.stream()
+                .map(task -> withContextClassLoader(contextClassLoader, task))
+                .collect(Collectors.toList());
+        return super.invokeAllAndCheckForExceptions(wrapped);
+    }
+
+    private static <T> Callable<T> withContextClassLoader(ClassLoader contextClassLoader, Callable<T> task) {
+        return () -> {
+            final Thread thread = Thread.currentThread();
+            final ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(contextClassLoader);
+            try {
+                return task.call();
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        };
+    }
+
+    @Override
+    public void shutdown() {
+        // shared by all containers, stops with the JVM
+    }
+
+    @Override
+    public void cleanup() {
+        // shared by all containers, stops with the JVM
+    }
+
+    private static SharedExecutorServices create() {
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+        if (CdiUnitProperties.getBoolean(VIRTUAL_PROPERTY, false)) {
+            try {
+                final ExecutorService virtual = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+                return new SharedExecutorServices(virtual, parallelism);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads are not available, using the work-stealing pool", e);
+            }
+        }
+        final ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("cdi-unit-weld-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new SharedExecutorServices(new ForkJoinPool(parallelism, threadFactory, null, false), parallelism);
+    }
+
+    private static final class Holder {
+
+        static final SharedExecutorServices INSTANCE = create();
+
+    }
+
+}
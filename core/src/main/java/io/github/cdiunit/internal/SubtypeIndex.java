@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.File;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+
+/**
+ * Concrete implementations of the interfaces and abstract classes in the bean archives, read from the class files
+ * without loading the classes.
+ * <p>
+ * With {@code cdi-unit.discovery.resolve-implementations=true} the discovery adds the implementations of the types of
+ * interface and abstract class injection points, including {@code Instance<T>} and {@code Provider<T>}. Plain
+ * injection points without qualifiers resolve a single bean, so the implementations are added to them only if there
+ * is exactly one.
+ * <p>
+ * Indexes are kept in the {@link ScanCache} and dropped with the other scan results, or when the watched bean
+ * archives change.
+ */
+final class SubtypeIndex {
+
+    static final String RESOLVE_IMPLEMENTATIONS_PROPERTY = "discovery.resolve-implementations";
+
+    // interface or abstract class name to the names of its concrete implementations
+    private final Map<String, List<String>> implementations;
+
+    private SubtypeIndex(Map<String, List<String>> implementations) {
+        this.implementations = implementations;
+    }
+
+    static boolean isEnabled() {
+        return CdiUnitProperties.getBoolean(RESOLVE_IMPLEMENTATIONS_PROPERTY, false);
+    }
+
+    static SubtypeIndex of(ClasspathScanner scanner) {
+        final List<URL> archives = scanner.getBeanArchives().stream()
+                .sorted(Comparator.comparing(URL::toString))
+                .collect(Collectors.toList());
+        final String key = archives.stream()
+                .map(URL::toString)
+                .collect(Collectors.joining(File.pathSeparator));
+        return ScanCache.getInstance().computeIfAbsent(ScanCache.DERIVED_PREFIX + "subtypes:" + key,
+                () -> scan(archives));
+    }
+
+    /**
+     * @param typeName interface or abstract class name
+     * @return names of the concrete implementations in the bean archives, empty for other types
+     */
+    List<String> getImplementations(String typeName) {
+        return implementations.getOrDefault(typeName, List.of());
+    }
+
+    int size() {
+        return implementations.values().stream().mapToInt(List::size).sum();
+    }
+
+    private static SubtypeIndex scan(List<URL> archives) {
+        final Map<String, List<String>> implementations = new HashMap<>();
+        if (archives.isEmpty()) {
+            return new SubtypeIndex(implementations);
+        }
+        try (ScanResult scan = new ClassGraph()
+                .disableNestedJarScanning()
+                .enableClassInfo()
+                // interfaces outside of the bean archives, e.g. of API libraries
+                .enableExternalClasses()
+                .ignoreClassVisibility()
+                .overrideClasspath(archives)
+                .scan(ScanExecutor.getExecutor(), ScanExecutor.getParallelism())) {
+            for (ClassInfo classInfo : scan.getAllStandardClasses()) {
+                if (!isConcrete(classInfo)) {
+                    continue;
+                }
+                for (ClassInfo type : classInfo.getInterfaces()) {
+                    if (!type.isAnnotation()) {
+                        add(implementations, type, classInfo);
+                    }
+                }
+                for (ClassInfo type : classInfo.getSuperclasses()) {
+                    if (type.isAbstract()) {
+                        add(implementations, type, classInfo);
+                    }
+                }
+            }
+        }
+        return new SubtypeIndex(implementations);
+    }
+
+    /**
+     * Classes which may be managed beans: not abstract, anonymous or non-static inner classes.
+     */
+    private static boolean isConcrete(ClassInfo classInfo) {
+        return !classInfo.isAbstract()
+                && !classInfo.isAnonymousInnerClass()
+                && (!classInfo.isInnerClass() || Modifier.isStatic(classInfo.getModifiers()));
+    }
+
+    private static void add(Map<String, List<String>> implementations, ClassInfo type, ClassInfo implementation) {
+        implementations.computeIfAbsent(type.getName(), k -> new ArrayList<>()).add(implementation.getName());
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import io.github.cdiunit.WeldProperty;
+
+import static io.github.cdiunit.internal.ExceptionUtils.illegalInstantiation;
+
+/**
+ * Weld configuration properties of the test container.
+ * <p>
+ * Sources in the order of precedence:
+ * <ol>
+ * <li>{@link WeldProperty} annotations of the test class</li>
+ * <li>system properties, read by Weld itself</li>
+ * <li>{@code org.jboss.weld.*} entries of the {@value CdiUnitProperties#FILE} classpath file</li>
+ * <li>CDI-Unit defaults</li>
+ * </ol>
+ * The concurrent deployment is left to Weld unless {@code cdi-unit.weld.concurrent-threshold} is set: deployments with
+ * fewer bean classes are then deployed sequentially, as handing off the beans of a small deployment to worker threads
+ * usually costs more than it saves, and larger ones concurrently on the {@link SharedExecutorServices} pool, or on the
+ * common ForkJoin pool if that is disabled; either is shared by all containers and uses all cores.
+ */
+final class WeldBootstrapProperties {
+
+    static final String WELD_PREFIX = "org.jboss.weld.";
+
+    static final String CONCURRENT_DEPLOYMENT = "org.jboss.weld.bootstrap.concurrentDeployment";
+
+    static final String THREAD_POOL_TYPE = "org.jboss.weld.executor.threadPoolType";
+
+    static final String EXECUTOR_PREFIX = "org.jboss.weld.executor.";
+
+    static final String CONCURRENT_THRESHOLD_PROPERTY = "weld.concurrent-threshold";
+
+    private WeldBootstrapProperties() throws IllegalAccessException {
+        illegalInstantiation();
+    }
+
+    /**
+     * Resolve the properties to pass to {@code Weld.property(name, value)}.
+     *
+     * @param testClass the test class
+     * @param beanCount number of bean classes in the deployment
+     * @return properties sorted by name
+     */
+    static Map<String, Object> resolve(Class<?> testClass, int beanCount) {
+        final Map<String, String> properties = new TreeMap<>(defaults(beanCount));
+        properties.putAll(CdiUnitProperties.getFileProperties(WELD_PREFIX));
+        properties.keySet().removeIf(name -> System.getProperty(name) != null);
+        for (WeldProperty property : testClass.getAnnotationsByType(WeldProperty.class)) {
+            properties.put(property.name(), property.value());
+        }
+
+        final Map<String, Object> result = new TreeMap<>();
+        properties.forEach((name, value) -> result.put(name, toValue(value)));
+        return result;
+    }
+
+    /**
+     * Check whether the Weld executor is configured explicitly, by a {@link WeldProperty} of the test class, a system
+     * property or an entry of the {@value CdiUnitProperties#FILE} classpath file.
+     *
+     * @param testClass the test class
+     * @return true if any {@value #EXECUTOR_PREFIX}* property is set
+     */
+    static boolean isExecutorConfigured(Class<?> testClass) {
+        for (WeldProperty property : testClass.getAnnotationsByType(WeldProperty.class)) {
+            if (property.name().startsWith(EXECUTOR_PREFIX)) {
+                return true;
+            }
+        }
+        if (System.getProperties().stringPropertyNames().stream().anyMatch(name -> name.startsWith(EXECUTOR_PREFIX))) {
+            return true;
+        }
+        return !CdiUnitProperties.getFileProperties(EXECUTOR_PREFIX).isEmpty();
+    }
+
+    private static Map<String, String> defaults(int beanCount) {
+        final Map<String, String> result = new TreeMap<>();
+        if (CdiUnitProperties.get(CONCURRENT_THRESHOLD_PROPERTY) == null) {
+            // keep the Weld defaults
+            return result;
+        }
+        final int threshold = CdiUnitProperties.getInt(CONCURRENT_THRESHOLD_PROPERTY, 0);
+        if (beanCount < threshold) {
+            result.put(CONCURRENT_DEPLOYMENT, "false");
+        } else {
+            result.put(CONCURRENT_DEPLOYMENT, "true");
+            result.put(THREAD_POOL_TYPE, "COMMON");
+        }
+        return result;
+    }
+
+    /**
+     * Weld SE checks its own flags with {@code Boolean.TRUE.equals(value)}, so pass booleans as such.
+     */
+    private static Object toValue(String value) {
+        final String trimmed = value.trim();
+        if ("true".equalsIgnoreCase(trimmed) || "false".equalsIgnoreCase(trimmed)) {
+            return Boolean.valueOf(trimmed);
+        }
+        return trimmed;
+    }
+
+}
@@ -20,13 +20,19 @@ import java.lang.reflect.Method;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import jakarta.enterprise.inject.spi.Extension;
 
 import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.github.cdiunit.internal.jfr.CdiUnitEvent;
+import io.github.cdiunit.internal.jfr.DiscoveryEvent;
+import io.github.cdiunit.internal.jfr.WeldInitializationEvent;
+
 public final class WeldHelper {
 
     private static final Logger log = LoggerFactory.getLogger(WeldHelper.class);
@@ -35,10 +41,79 @@ public final class WeldHelper {
     }
 
     public static Weld configureWeld(TestConfiguration testConfiguration) {
-        final DefaultBootstrapDiscoveryContext bdc = new DefaultBootstrapDiscoveryContext();
+        return createWeld(discover(testConfiguration));
+    }
+
+    /**
+     * Initialize the configured Weld container.
+     *
+     * @param weld the configured container
+     * @param testConfiguration the test configuration the container is configured for
+     * @return the initialized container
+     */
+    public static WeldContainer initialize(Weld weld, TestConfiguration testConfiguration) {
+        final WeldInitializationEvent event = new WeldInitializationEvent();
+        event.begin();
+        final WeldContainer container = weld.initialize();
+        event.containerId = container.getId();
+        event.setTest(testConfiguration);
+        event.commitWithTest();
+        return container;
+    }
+
+    static DiscoveryResult discover(TestConfiguration testConfiguration) {
+        final DiscoveryEvent event = new DiscoveryEvent();
+        event.begin();
+        try (CdiUnitEvent.Binding ignored = CdiUnitEvent.bindTest(testConfiguration)) {
+            final DiscoveryCache.Key cacheKey = DiscoveryCache.Key.of(testConfiguration);
+            DiscoveryCache.Entry cached = DiscoveryCache.INSTANCE.get(cacheKey);
+            event.cached = cached != null;
+            if (cached == null) {
+                // stale or missing precomputed results fall back to the discovery
+                cached = PrecomputedDiscovery.load(testConfiguration, () -> bootstrap().discoverExtension);
+                if (cached != null) {
+                    DiscoveryCache.INSTANCE.put(cacheKey, cached);
+                    event.precomputed = true;
+                }
+            }
+            final DiscoveryResult result = cached != null
+                    ? restore(cached, testConfiguration)
+                    : discover(testConfiguration, cacheKey);
+            event.classCount = result.getDiscoveredClasses().size();
+            event.setTest(testConfiguration);
+            event.commitWithTest();
+            return result;
+        }
+    }
+
+    private static DiscoveryResult restore(DiscoveryCache.Entry cached, TestConfiguration testConfiguration) {
+        final ClasspathScanner scanner = new CachingClassGraphScanner(new DefaultBeanArchiveScanner());
+        final DefaultDiscoveryContext discoveryContext = new DefaultDiscoveryContext(scanner, testConfiguration);
+        cached.restore(discoveryContext);
+        return new DiscoveryResult(discoveryContext, cached.discoveredClasses);
+    }
 
+    /**
+     * Bootstrap the discovery extensions found by the service loader.
+     *
+     * @return the callbacks registered by the discovery extensions
+     */
+    static DefaultBootstrapDiscoveryContext bootstrap() {
+        final DefaultBootstrapDiscoveryContext bdc = new DefaultBootstrapDiscoveryContext();
         final ServiceLoader<DiscoveryExtension> discoveryExtensions = ServiceLoader.load(DiscoveryExtension.class);
         discoveryExtensions.forEach(extension -> extension.bootstrap(bdc));
+        return bdc;
+    }
+
+    /**
+     * Discover the test configuration ignoring the cached and precomputed results, the result is cached.
+     *
+     * @param testConfiguration the test configuration
+     * @param cacheKey the key to cache the result with
+     * @return the discovery result
+     */
+    static DiscoveryResult discover(TestConfiguration testConfiguration, DiscoveryCache.Key cacheKey) {
+        final DefaultBootstrapDiscoveryContext bdc = bootstrap();
 
         // Capture values to ignore potential updates after the bootstrap
         final Consumer<DiscoveryExtension.Context> discoverExtension = bdc.discoverExtension;
@@ -48,58 +123,62 @@ public final class WeldHelper {
         final Consumer<DiscoveryExtension.Context> afterDiscovery = bdc.afterDiscovery;
 
         final ClasspathScanner scanner = new CachingClassGraphScanner(new DefaultBeanArchiveScanner());
-        final DefaultDiscoveryContext discoveryContext = new DefaultDiscoveryContext(scanner, testConfiguration);
-
-        final Set<Class<?>> discoveredClasses = new LinkedHashSet<>();
-        final Set<Class<?>> classesProcessed = new HashSet<>();
+        final DefaultDiscoveryContext discoveryContext = new DefaultDiscoveryContext(scanner, testConfiguration,
+                DiscoveryWorklist.isMetadataEngine());
+        final DiscoveryTrace trace = DiscoveryTrace.create();
+        discoveryContext.setTrace(trace);
+        final DiscoveryBoundary boundary = DiscoveryBoundary.create();
+        discoveryContext.setBoundary(boundary);
+        if (SubtypeIndex.isEnabled()) {
+            discoveryContext.setSubtypeIndex(SubtypeIndex.of(scanner));
+        }
 
+        discoveryContext.setRequester(null, "extension");
         discoverExtension.accept(discoveryContext);
+        final int bootstrapExtensionCount = discoveryContext.getExtensions().size();
 
+        discoveryContext.setRequester(null, "test");
         discoveryContext.processBean(testConfiguration.getTestClass());
         testConfiguration.getAdditionalClasses().forEach(discoveryContext::processBean);
 
-        while (discoveryContext.hasClassesToProcess()) {
-            final Class<?> cls = discoveryContext.nextClassToProcess();
-
-            final boolean candidate = scanner.isContainedInBeanArchive(cls) || Extension.class.isAssignableFrom(cls);
-            final boolean processed = classesProcessed.contains(cls);
-            final boolean primitive = cls.isPrimitive();
-            final boolean ignored = discoveryContext.isIgnored(cls);
+        final Set<Class<?>> discoveredClasses = new DiscoveryWorklist(scanner, discoverClass, discoverField, discoverMethod)
+                .process(discoveryContext);
+        if (boundary != null && !boundary.getCrossings().isEmpty()) {
+            discoveryContext.extension(boundary.createExtension());
+        }
 
-            if (candidate && !processed && !primitive && !ignored) {
-                classesProcessed.add(cls);
-                if (!cls.isAnnotation()) {
-                    discoveredClasses.add(cls);
-                }
+        final List<Extension> discoveredExtensions = discoveryContext.getExtensions().stream()
+                .skip(bootstrapExtensionCount)
+                .collect(Collectors.toList());
 
-                try {
-                    discoverClass.accept(discoveryContext, cls);
-
-                    for (Field field : cls.getDeclaredFields()) {
-                        discoverField.accept(discoveryContext, field);
-                    }
-                    for (Method method : cls.getDeclaredMethods()) {
-                        discoverMethod.accept(discoveryContext, method);
-                    }
-                } catch (NoClassDefFoundError ncdf) {
-                    throw new IllegalStateException(String.format("Can not discover %s", cls), ncdf);
-                }
-            }
-
-            discoveryContext.processed(cls);
+        discoveryContext.setRequester(null, "after discovery");
+        afterDiscovery.accept(discoveryContext);
+        if (trace != null) {
+            trace.write(testConfiguration);
         }
 
-        afterDiscovery.accept(discoveryContext);
+        DiscoveryCache.INSTANCE.put(cacheKey, new DiscoveryCache.Entry(discoverExtension, afterDiscovery,
+                discoveredClasses, discoveredExtensions, discoveryContext));
 
-        var weld = new Weld("cdi-unit-" + UUID.randomUUID())
+        return new DiscoveryResult(discoveryContext, discoveredClasses);
+    }
+
+    static Weld createWeld(DiscoveryResult discovery) {
+        final Class<?> testClass = discovery.getTestConfiguration().getTestClass();
+        var weld = SharedExecutorServices.newWeld("cdi-unit-" + UUID.randomUUID(), testClass)
                 .disableDiscovery();
 
-        discoveryContext.configure(weld);
+        discovery.getDiscoveryContext().configure(weld, discovery.isTestClassDeployed());
 
+        final Set<Class<?>> discoveredClasses = discovery.getDiscoveredClasses();
         for (var clazz : discoveredClasses) {
             weld.addBeanClass(clazz);
         }
 
+        final Map<String, Object> properties = WeldBootstrapProperties.resolve(testClass, discoveredClasses.size());
+        properties.forEach(weld::property);
+        log.debug("Weld properties: {}", properties);
+
         log.debug("CDI-Unit discovered:");
         for (var clazz : discoveredClasses) {
             var clsName = clazz.getName();
@@ -18,8 +18,11 @@ package io.github.cdiunit.internal.activatescopes;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import io.github.cdiunit.ActivateScopes;
 import io.github.cdiunit.internal.DiscoveryExtension;
@@ -34,7 +37,8 @@ import io.github.cdiunit.internal.DiscoveryExtension;
  */
 public class ActivateScopesDiscoveryExtension implements DiscoveryExtension {
 
-    private final Set<Class<? extends Annotation>> scopes = new LinkedHashSet<>();
+    // classes are discovered concurrently
+    private final Set<Class<? extends Annotation>> scopes = ConcurrentHashMap.newKeySet();
 
     @Override
     public void bootstrap(BootstrapDiscoveryContext bdc) {
@@ -71,7 +75,11 @@ public class ActivateScopesDiscoveryExtension implements DiscoveryExtension {
 
     private void afterDiscovery(Context context) {
         if (!scopes.isEmpty()) {
-            context.extension(new ScopesExtension(scopes));
+            // stable order regardless of the discovery order
+            final Set<Class<? extends Annotation>> sortedScopes = scopes.stream()
+                    .sorted(Comparator.comparing(Class::getName))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            context.extension(new ScopesExtension(sortedScopes));
         }
     }
 
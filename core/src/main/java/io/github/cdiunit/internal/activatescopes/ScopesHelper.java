@@ -15,8 +15,13 @@
  */
 package io.github.cdiunit.internal.activatescopes;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
 import jakarta.enterprise.inject.spi.BeanManager;
 
+import io.github.cdiunit.internal.jfr.ScopeActivationEvent;
+
 import static io.github.cdiunit.internal.ExceptionUtils.illegalInstantiation;
 
 public final class ScopesHelper {
@@ -26,15 +31,27 @@ public final class ScopesHelper {
     }
 
     public static void activateContexts(BeanManager beanManager, Object target) {
-        beanManager.getEvent()
-                .select(ScopesExtension.ActivateContexts.Literal.INSTANCE)
-                .fire(target);
+        fire(beanManager, ScopesExtension.ActivateContexts.Literal.INSTANCE, target, true);
     }
 
     public static void deactivateContexts(BeanManager beanManager, Object target) {
+        fire(beanManager, ScopesExtension.DeactivateContexts.Literal.INSTANCE, target, false);
+    }
+
+    private static void fire(BeanManager beanManager, Annotation qualifier, Object target, boolean activation) {
+        final ScopeActivationEvent event = new ScopeActivationEvent();
+        event.begin();
         beanManager.getEvent()
-                .select(ScopesExtension.DeactivateContexts.Literal.INSTANCE)
+                .select(qualifier)
                 .fire(target);
+        event.activation = activation;
+        if (target instanceof Method) {
+            final Method method = (Method) target;
+            event.setTest(method.getDeclaringClass(), method);
+        } else if (target != null) {
+            event.setTest(target.getClass(), null);
+        }
+        event.commitWithTest();
     }
 
 }
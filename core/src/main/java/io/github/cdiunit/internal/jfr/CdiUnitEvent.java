@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal.jfr;
+
+import java.lang.reflect.Method;
+
+import io.github.cdiunit.internal.TestConfiguration;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of CDI-Unit events, carries the test class and method.
+ * <p>
+ * Events emitted without the test configuration at hand, e.g. classpath scans, take the test bound to the current
+ * thread with {@link #bindTest(TestConfiguration)}.
+ */
+@Category("CDI-Unit")
+public abstract class CdiUnitEvent extends Event {
+
+    private static final ThreadLocal<TestConfiguration> currentTest = new ThreadLocal<>();
+
+    @Label("Test Class")
+    Class<?> testClass;
+
+    @Label("Test Method")
+    String testMethod;
+
+    public void setTest(Class<?> testClass, Method testMethod) {
+        this.testClass = testClass;
+        this.testMethod = testMethod == null ? null : testMethod.getName();
+    }
+
+    public void setTest(TestConfiguration testConfiguration) {
+        if (testConfiguration != null) {
+            setTest(testConfiguration.getTestClass(), testConfiguration.getTestMethod());
+        }
+    }
+
+    /**
+     * Commit the event if it is enabled and exceeds the threshold, the test is taken from the current thread if not
+     * set yet.
+     */
+    public void commitWithTest() {
+        end();
+        if (shouldCommit()) {
+            if (testClass == null) {
+                setTest(currentTest.get());
+            }
+            commit();
+        }
+    }
+
+    /**
+     * Bind the test to the current thread.
+     *
+     * @param testConfiguration the test configuration
+     * @return the binding, must be closed to restore the previous one
+     */
+    public static Binding bindTest(TestConfiguration testConfiguration) {
+        final TestConfiguration previous = currentTest.get();
+        currentTest.set(testConfiguration);
+        return () -> {
+            if (previous == null) {
+                currentTest.remove();
+            } else {
+                currentTest.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Binding of the test to the current thread.
+     */
+    @FunctionalInterface
+    public interface Binding extends AutoCloseable {
+
+        @Override
+        void close();
+
+    }
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.github.cdiunit.Discovery")
+@Label("Discovery")
+@Description("Discovery of the bean classes, extensions, alternatives, decorators and interceptors of the test")
+public class DiscoveryEvent extends CdiUnitEvent {
+
+    @Label("Class Count")
+    public int classCount;
+
+    @Label("Cached")
+    public boolean cached;
+
+    @Label("Precomputed")
+    public boolean precomputed;
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.Timespan;
+
+@Name("io.github.cdiunit.ScanCacheStatistics")
+@Label("Scan Cache Statistics")
+@Description("Counters of the in-memory classpath scan cache")
+@Category("CDI-Unit")
+@Period("everyChunk")
+public class ScanCacheStatisticsEvent extends Event {
+
+    @Label("Hits")
+    public long hits;
+
+    @Label("Misses")
+    public long misses;
+
+    @Label("Evictions")
+    public long evictions;
+
+    @Label("Scan Time")
+    @Timespan
+    public long scanTime;
+
+    @Label("Size")
+    public int size;
+
+    @Label("Weight")
+    public long weight;
+
+}
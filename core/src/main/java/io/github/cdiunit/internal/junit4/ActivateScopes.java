@@ -52,7 +52,7 @@ public class ActivateScopes extends Statement {
             }
             next.evaluate();
         } finally {
-            if (contextsActivated.get() && isolationLevel == IsolationLevel.PER_METHOD) {
+            if (contextsActivated.get() && isolationLevel != IsolationLevel.PER_CLASS) {
                 contextsActivated.set(false);
                 ScopesHelper.deactivateContexts(beanManager.get(), method);
             }
@@ -22,10 +22,15 @@ import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.InjectionTarget;
 
 import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
 import org.junit.runners.model.Statement;
 
+import io.github.cdiunit.IsolationLevel;
+import io.github.cdiunit.internal.ContainerShutdown;
+import io.github.cdiunit.internal.SharedContainerPool;
 import io.github.cdiunit.internal.TestConfiguration;
 import io.github.cdiunit.internal.WeldHelper;
+import io.github.cdiunit.internal.jfr.InjectionEvent;
 
 public class WeldLifecycle extends Statement {
 
@@ -35,6 +40,7 @@ public class WeldLifecycle extends Statement {
     private final Consumer<BeanManager> beanManagerConsumer;
 
     private Weld weld;
+    private SharedContainerPool.Lease sharedContainer;
     private BeanManager beanManager;
     private CreationalContext<Object> creationalContext;
     private InjectionTarget<Object> injectionTarget;
@@ -60,24 +66,38 @@ public class WeldLifecycle extends Statement {
 
     @SuppressWarnings("unchecked")
     private void initialize() {
-        weld = WeldHelper.configureWeld(testConfiguration);
-
-        var container = weld.initialize();
+        WeldContainer container;
+        if (testConfiguration.getIsolationLevel() == IsolationLevel.SHARED) {
+            sharedContainer = SharedContainerPool.INSTANCE.acquire(testConfiguration);
+            container = sharedContainer.getContainer();
+        } else {
+            weld = WeldHelper.configureWeld(testConfiguration);
+            container = WeldHelper.initialize(weld, testConfiguration);
+        }
+        final InjectionEvent event = new InjectionEvent();
+        event.begin();
         beanManager = container.getBeanManager();
         creationalContext = beanManager.createCreationalContext(null);
         var annotatedType = beanManager.createAnnotatedType(testConfiguration.getTestClass());
         injectionTarget = (InjectionTarget<Object>) beanManager.getInjectionTargetFactory(annotatedType)
                 .createInjectionTarget(null);
         injectionTarget.inject(target, creationalContext);
+        event.setTest(testConfiguration);
+        event.commitWithTest();
     }
 
     private void shutdown() {
         if (creationalContext != null) {
             creationalContext.release();
         }
+        if (sharedContainer != null) {
+            sharedContainer.close();
+        }
         if (weld != null) {
-            weld.shutdown();
+            ContainerShutdown.INSTANCE.shutdown(weld, testConfiguration.getTestClass());
         }
+        // no test class lifecycle here, report failures of the previous shutdowns
+        ContainerShutdown.INSTANCE.checkCompleted(testConfiguration.getTestClass());
     }
 
 }
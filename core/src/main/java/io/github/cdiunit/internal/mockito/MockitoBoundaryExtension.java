@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal.mockito;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.spi.AfterBeanDiscovery;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.inject.Singleton;
+
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.cdiunit.internal.DiscoveryBoundary;
+
+/**
+ * Registers a singleton Mockito mock for every injection point crossing the {@link DiscoveryBoundary} which is not
+ * satisfied by the deployed beans.
+ * <p>
+ * Has no no-arg constructor, so the discovery results using the boundary are not cached and every container gets a
+ * new instance.
+ */
+public class MockitoBoundaryExtension implements Extension {
+
+    private static final Logger log = LoggerFactory.getLogger(MockitoBoundaryExtension.class);
+
+    private final List<DiscoveryBoundary.Crossing> crossings;
+
+    public MockitoBoundaryExtension(Collection<DiscoveryBoundary.Crossing> crossings) {
+        this.crossings = List.copyOf(crossings);
+    }
+
+    public void afterBeanDiscovery(@Observes AfterBeanDiscovery event, BeanManager beanManager) {
+        for (DiscoveryBoundary.Crossing crossing : crossings) {
+            final Annotation[] qualifiers = crossing.getQualifiers().toArray(new Annotation[0]);
+            if (!beanManager.getBeans(crossing.getType(), qualifiers).isEmpty()) {
+                continue;
+            }
+            log.debug("Mocking {} beyond the discovery boundary", crossing);
+            final Set<Annotation> beanQualifiers = new LinkedHashSet<>(crossing.getQualifiers());
+            if (beanQualifiers.isEmpty()) {
+                beanQualifiers.add(Default.Literal.INSTANCE);
+            }
+            beanQualifiers.add(Any.Literal.INSTANCE);
+            final Class<?> rawType = crossing.getRawType();
+            event.addBean()
+                    .beanClass(rawType)
+                    .types(crossing.getType(), Object.class)
+                    .qualifiers(beanQualifiers)
+                    .scope(Singleton.class)
+                    .createWith(ctx -> Mockito.mock(rawType));
+        }
+    }
+
+}
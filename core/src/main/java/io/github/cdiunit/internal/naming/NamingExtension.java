@@ -32,9 +32,12 @@ public class NamingExtension implements Extension {
     private InitialContext boundToContext;
 
     void onAfterDeploymentValidation(@Observes AfterDeploymentValidation adv, BeanManager beanManager) throws Exception {
-        var existingFactory = System.getProperty(Context.INITIAL_CONTEXT_FACTORY);
-        if (existingFactory == null && !NamingManager.hasInitialContextFactoryBuilder()) {
-            NamingManager.setInitialContextFactoryBuilder(CdiUnitContextFactory::new);
+        // containers of concurrently running tests install the builder once
+        synchronized (NamingExtension.class) {
+            var existingFactory = System.getProperty(Context.INITIAL_CONTEXT_FACTORY);
+            if (existingFactory == null && !NamingManager.hasInitialContextFactoryBuilder()) {
+                NamingManager.setInitialContextFactoryBuilder(CdiUnitContextFactory::new);
+            }
         }
         boundToContext = new InitialContext();
         boundToContext.bind(JNDI_BEAN_MANAGER_NAME, beanManager);
@@ -49,8 +49,11 @@ public class TestScopeExtension implements Extension {
     <T> void processAnnotatedType(@Observes ProcessAnnotatedType<T> pat) {
         final AnnotatedType<T> annotatedType = pat.getAnnotatedType();
         if (annotatedType.getJavaClass().equals(testConfiguration.getTestClass())) {
+            final IsolationLevel isolationLevel = testConfiguration.getIsolationLevel();
+            final boolean perMethod = isolationLevel == IsolationLevel.PER_METHOD
+                    || isolationLevel == IsolationLevel.PER_METHOD_RESET;
             AnnotatedTypeConfigurator<T> builder = pat.configureAnnotatedType()
-                    .add(testConfiguration.getIsolationLevel() == IsolationLevel.PER_CLASS ? DEPENDENT : APPLICATIONSCOPED);
+                    .add(perMethod ? APPLICATIONSCOPED : DEPENDENT);
         }
     }
 
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit;
+
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.github.cdiunit.ignoredpackages.InfraService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(CdiRunner.class)
+@AdditionalClasses(TestIgnorePackages.MyProducer.class)
+@IgnoredPackages("io.github.cdiunit.ignored*.**")
+public class TestIgnorePackages {
+
+    public static class MyProducer {
+
+        @Produces
+        public InfraService infraService() {
+            return new InfraService() {
+                @Override
+                public String hello() {
+                    return "produced";
+                }
+            };
+        }
+    }
+
+    @Inject
+    private InfraService infraService;
+
+    @Test
+    public void test() {
+        assertThat(infraService.hello()).isEqualTo("produced");
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BeanArchiveMembershipTest {
+
+    private final AtomicInteger scans = new AtomicInteger();
+
+    private Collection<URL> beanArchives;
+
+    private final CachingClassGraphScanner scanner = new CachingClassGraphScanner(classPathEntries -> {
+        scans.incrementAndGet();
+        return beanArchives;
+    });
+
+    @Before
+    public void setUp() {
+        ScanCache.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        ScanCache.getInstance().clear();
+    }
+
+    @Test
+    public void shouldKeepVerdictWhileGenerationIsUnchanged() {
+        beanArchives = Set.of(scanner.getClasspathURL(Member.class));
+        assertThat(scanner.isContainedInBeanArchive(Member.class)).isTrue();
+
+        beanArchives = Set.of();
+
+        assertThat(scanner.isContainedInBeanArchive(Member.class)).isTrue();
+        assertThat(scans).hasValue(1);
+    }
+
+    @Test
+    public void shouldInvalidateVerdictWhenGenerationChanges() {
+        beanArchives = Set.of(scanner.getClasspathURL(Member.class));
+        assertThat(scanner.isContainedInBeanArchive(Member.class)).isTrue();
+        final long generation = ScanCache.getInstance().getGeneration();
+
+        beanArchives = Set.of();
+        ScanCache.getInstance().clear();
+
+        assertThat(ScanCache.getInstance().getGeneration()).isNotEqualTo(generation);
+        assertThat(scanner.isContainedInBeanArchive(Member.class)).isFalse();
+        assertThat(scans).hasValue(2);
+    }
+
+    @Test
+    public void shouldResolveLocationOnce() {
+        final URL location = scanner.getClasspathURL(Member.class);
+
+        assertThat(location).isNotNull();
+        assertThat(scanner.getClasspathURL(Member.class)).isSameAs(location);
+        assertThat(scanner.getClasspathURL(null)).isNull();
+    }
+
+    @Test
+    public void shouldNotContainClassesWithoutLocation() {
+        beanArchives = List.of();
+
+        assertThat(scanner.isContainedInBeanArchive(String.class)).isFalse();
+    }
+
+    static class Member {
+    }
+
+}
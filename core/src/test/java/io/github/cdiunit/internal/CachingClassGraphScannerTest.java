@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingClassGraphScannerTest {
+
+    private static final String DISCOVERY_MODE = CdiUnitProperties.PREFIX
+            + CachingClassGraphScanner.DISCOVERY_MODE_PROPERTY;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DISCOVERY_MODE);
+    }
+
+    @Test
+    public void shouldIgnoreDiscoveryModeByDefault() throws Exception {
+        final URL archive = archive("none");
+
+        assertThat(beanClassNames(archive)).containsExactlyInAnyOrder(Annotated.class.getName(), Plain.class.getName());
+    }
+
+    @Test
+    public void shouldAddAllClassesOfAllMode() throws Exception {
+        System.setProperty(DISCOVERY_MODE, "true");
+
+        assertThat(beanClassNames(archive("all")))
+                .containsExactlyInAnyOrder(Annotated.class.getName(), Plain.class.getName());
+    }
+
+    @Test
+    public void shouldAddAllClassesWithoutBeansXml() throws Exception {
+        System.setProperty(DISCOVERY_MODE, "true");
+
+        assertThat(beanClassNames(archive(null)))
+                .containsExactlyInAnyOrder(Annotated.class.getName(), Plain.class.getName());
+    }
+
+    @Test
+    public void shouldAddAnnotatedClassesOfAnnotatedMode() throws Exception {
+        System.setProperty(DISCOVERY_MODE, "true");
+
+        assertThat(beanClassNames(archive("annotated"))).containsExactly(Annotated.class.getName());
+    }
+
+    @Test
+    public void shouldAddNoClassesOfNoneMode() throws Exception {
+        System.setProperty(DISCOVERY_MODE, "true");
+
+        assertThat(beanClassNames(archive("none"))).isEmpty();
+    }
+
+    private static List<String> beanClassNames(URL archive) {
+        return new CachingClassGraphScanner(new DefaultBeanArchiveScanner())
+                .getBeanClassNamesForClasspath(new URL[] { archive });
+    }
+
+    /**
+     * @param mode bean discovery mode of the {@code beans.xml}, {@code null} for none
+     */
+    private URL archive(String mode) throws IOException, URISyntaxException {
+        final Path root = temporaryFolder.newFolder().toPath();
+        final Path classes = root.resolve(Plain.class.getPackageName().replace('.', '/'));
+        Files.createDirectories(classes);
+        for (Class<?> cls : List.of(Annotated.class, Plain.class)) {
+            final String fileName = cls.getName().substring(cls.getPackageName().length() + 1) + ".class";
+            Files.copy(Paths.get(cls.getResource(fileName).toURI()), classes.resolve(fileName));
+        }
+        if (mode != null) {
+            Files.createDirectories(root.resolve("META-INF"));
+            Files.write(root.resolve("META-INF/beans.xml"),
+                    ("<beans bean-discovery-mode=\"" + mode + "\"/>").getBytes(StandardCharsets.UTF_8));
+        }
+        return root.toUri().toURL();
+    }
+
+    @ApplicationScoped
+    static class Annotated {
+    }
+
+    static class Plain {
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.List;
+
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassMetadataIndexTest {
+
+    private static final String ENGINE = CdiUnitProperties.PREFIX + DiscoveryWorklist.ENGINE_PROPERTY;
+
+    private final ClasspathScanner scanner = new CachingClassGraphScanner(new DefaultBeanArchiveScanner());
+
+    @Before
+    public void setUp() {
+        ScanCache.getInstance().clear();
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ENGINE);
+        ScanCache.getInstance().clear();
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @Test
+    public void shouldIndexDiscoverableMembers() {
+        final ClassMetadataIndex index = ClassMetadataIndex.of(scanner);
+
+        assertThat(index.contains(Plain.class.getName())).isTrue();
+        assertThat(index.hasDiscoverableMembers(Plain.class.getName())).isFalse();
+        assertThat(index.hasDiscoverableMembers(Injected.class.getName())).isTrue();
+        assertThat(index.hasDiscoverableMembers(Indirect.class.getName())).isTrue();
+        assertThat(index.contains(String.class.getName())).isFalse();
+    }
+
+    @Test
+    public void shouldKeepIndexInScanCache() {
+        final ClassMetadataIndex index = ClassMetadataIndex.of(scanner);
+
+        assertThat(ClassMetadataIndex.of(scanner)).isSameAs(index);
+        assertThat(ScanCache.getInstance().getWeight()).isGreaterThanOrEqualTo(index.size());
+        ScanCache.getInstance().invalidateDerived();
+        final ClassMetadataIndex rescanned = ClassMetadataIndex.of(scanner);
+        assertThat(rescanned).isNotSameAs(index);
+        ScanCache.getInstance().clear();
+        assertThat(ClassMetadataIndex.of(scanner)).isNotSameAs(rescanned);
+    }
+
+    @Test
+    public void shouldDiscoverWithMetadataEngine() {
+        System.setProperty(ENGINE, DiscoveryWorklist.METADATA_ENGINE);
+
+        assertThat(WeldHelper.discover(new TestConfiguration(Fixture.class, null)).getDiscoveredClasses())
+                .contains(Injected.class, Plain.class);
+    }
+
+    @Test
+    public void shouldKeepExtensionsOutsideIndex() {
+        System.setProperty(ENGINE, DiscoveryWorklist.METADATA_ENGINE);
+        // no bean archives, so nothing is indexed
+        final ClasspathScanner scanner = new CachingClassGraphScanner(entries -> List.of());
+        final DiscoveryWorklist worklist = new DiscoveryWorklist(scanner,
+                (context, cls) -> {
+                },
+                (context, field) -> {
+                },
+                (context, method) -> {
+                });
+        final DefaultDiscoveryContext discoveryContext = new DefaultDiscoveryContext(scanner,
+                new TestConfiguration(Fixture.class, null), false);
+        discoveryContext.processBean(Plain.class.getName());
+        discoveryContext.processBean(PlainExtension.class.getName());
+
+        assertThat(worklist.process(discoveryContext)).containsExactly(PlainExtension.class);
+    }
+
+    static class Plain {
+    }
+
+    public static class PlainExtension implements Extension {
+    }
+
+    static class Injected {
+
+        @Inject
+        Plain plain;
+
+    }
+
+    static class Indirect {
+
+        Provider<Plain> plain;
+
+    }
+
+    static class Fixture {
+
+        @Inject
+        Injected injected;
+
+    }
+
+}
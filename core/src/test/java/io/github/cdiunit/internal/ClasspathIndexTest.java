@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.cdiunit.ExtensionInheritanceTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClasspathIndexTest {
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private static final String PACKAGE = First.class.getPackageName();
+
+    private static final String OTHER_PACKAGE = ExtensionInheritanceTest.class.getPackageName();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ClasspathScanner scanner = new CachingClassGraphScanner(new DefaultBeanArchiveScanner());
+
+    private Path root;
+
+    private URL url;
+
+    @Before
+    public void setUp() throws Exception {
+        root = temporaryFolder.newFolder("classes").toPath();
+        url = root.toUri().toURL();
+        copy(First.class);
+        copy(ExtensionInheritanceTest.class);
+    }
+
+    @Test
+    public void shouldRescanChangedPackage() throws Exception {
+        final ClasspathIndex index = ClasspathIndex.watch(scanner, List.of(url));
+        assertThat(index.getClassNamesForPackage(scanner, PACKAGE, url)).containsExactly(First.class.getName());
+        final long generation = ScanCache.getInstance().getGeneration();
+
+        copy(Second.class);
+
+        awaitRefresh(index, () -> index.getClassNamesForPackage(scanner, PACKAGE, url).size() == 2);
+        assertThat(index.getClassNamesForPackage(scanner, PACKAGE, url))
+                .containsExactly(First.class.getName(), Second.class.getName());
+        assertThat(index.getClassNamesForPackage(scanner, OTHER_PACKAGE, url))
+                .containsExactly(ExtensionInheritanceTest.class.getName());
+        assertThat(ScanCache.getInstance().getGeneration()).isNotEqualTo(generation);
+    }
+
+    @Test
+    public void shouldRescanEntryOfDeletedPackage() throws Exception {
+        final ClasspathIndex index = ClasspathIndex.watch(scanner, List.of(url));
+        assertThat(index.size()).isEqualTo(2);
+
+        final Path directory = root.resolve(PACKAGE.replace('.', '/'));
+        Files.delete(directory.resolve(fileName(First.class)));
+        Files.delete(directory);
+
+        awaitRefresh(index, () -> index.size() == 1);
+        assertThat(index.getClassNamesForPackage(scanner, PACKAGE, url)).isEmpty();
+        assertThat(index.getClassNamesForClasspath(scanner, new URL[] { url }))
+                .containsExactly(ExtensionInheritanceTest.class.getName());
+    }
+
+    @Test
+    public void shouldReportEntryOnOverflow() throws Exception {
+        final ClasspathWatcher watcher = new ClasspathWatcher();
+        watcher.watch(url, root);
+
+        // more events than a watch key queues
+        for (int i = 0; i < 2_000; i++) {
+            Files.createFile(root.resolve("file" + i + ".txt"));
+        }
+
+        final Set<ClasspathWatcher.Change> changes = new LinkedHashSet<>();
+        final ClasspathWatcher.Change entry = new ClasspathWatcher.Change(url, null);
+        final long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!changes.contains(entry) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(200);
+            changes.addAll(watcher.poll());
+        }
+        assertThat(changes).contains(entry);
+    }
+
+    @Test
+    public void shouldNotRefreshWithoutWatching() throws Exception {
+        final ClasspathIndex index = ClasspathIndex.build(scanner, List.of(url));
+
+        copy(Second.class);
+        index.refresh(scanner);
+
+        assertThat(index.getClassNamesForPackage(scanner, PACKAGE, url)).containsExactly(First.class.getName());
+    }
+
+    private void awaitRefresh(ClasspathIndex index, BooleanSupplier refreshed) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT;
+        index.refresh(scanner);
+        while (!refreshed.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            index.refresh(scanner);
+        }
+    }
+
+    private void copy(Class<?> cls) throws IOException, URISyntaxException {
+        final Path directory = root.resolve(cls.getPackageName().replace('.', '/'));
+        Files.createDirectories(directory);
+        Files.copy(Paths.get(cls.getResource(fileName(cls)).toURI()), directory.resolve(fileName(cls)));
+    }
+
+    private static String fileName(Class<?> cls) {
+        return cls.getName().substring(cls.getPackageName().length() + 1) + ".class";
+    }
+
+    static class First {
+    }
+
+    static class Second {
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.cdiunit.Isolation;
+import io.github.cdiunit.IsolationLevel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContainerPreloaderTest {
+
+    private static final String ENABLED = CdiUnitProperties.PREFIX + ContainerPreloader.ENABLED_PROPERTY;
+
+    private final ContainerPreloader preloader = ContainerPreloader.INSTANCE;
+
+    @Before
+    public void setUp() {
+        System.setProperty(ENABLED, "true");
+    }
+
+    @After
+    public void tearDown() {
+        preloader.discard(Fixture.class);
+        System.clearProperty(ENABLED);
+    }
+
+    @Test
+    public void shouldTakePreloadedContainer() {
+        final TestConfiguration testConfiguration = new TestConfiguration(Fixture.class, null);
+        final long hits = preloader.getHitCount();
+        preloader.preload(testConfiguration);
+
+        final ContainerPreloader.PreloadedContainer spare = preloader.take(testConfiguration);
+        try {
+            assertThat(spare).isNotNull();
+            assertThat(spare.getContainer().isRunning()).isTrue();
+            assertThat(spare.getContainer().select(Dependency.class).isResolvable()).isTrue();
+            assertThat(preloader.getHitCount()).isEqualTo(hits + 1);
+        } finally {
+            spare.getWeld().shutdown();
+        }
+    }
+
+    @Test
+    public void shouldMissWithoutPreload() {
+        final long misses = preloader.getMissCount();
+
+        assertThat(preloader.take(new TestConfiguration(Fixture.class, null))).isNull();
+        assertThat(preloader.getMissCount()).isEqualTo(misses + 1);
+    }
+
+    @Test
+    public void shouldIgnoreOtherIsolationLevels() {
+        final TestConfiguration testConfiguration = new TestConfiguration(PerClassFixture.class, null);
+        final long misses = preloader.getMissCount();
+        preloader.preload(testConfiguration);
+
+        assertThat(preloader.take(testConfiguration)).isNull();
+        assertThat(preloader.getMissCount()).isEqualTo(misses);
+    }
+
+    @Test
+    public void shouldShutdownDiscardedContainers() {
+        final TestConfiguration testConfiguration = new TestConfiguration(Fixture.class, null);
+        preloader.preload(testConfiguration);
+
+        preloader.discard(Fixture.class);
+
+        assertThat(preloader.take(testConfiguration)).isNull();
+    }
+
+    @Test
+    public void shouldDiscardWithoutPreload() {
+        preloader.discard(PerClassFixture.class);
+
+        assertThat(preloader.take(new TestConfiguration(PerClassFixture.class, null))).isNull();
+    }
+
+    static class Fixture {
+
+        @Inject
+        Dependency dependency;
+
+    }
+
+    static class Dependency {
+    }
+
+    @Isolation(IsolationLevel.PER_CLASS)
+    static class PerClassFixture {
+    }
+
+}
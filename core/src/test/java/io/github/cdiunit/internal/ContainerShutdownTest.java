@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.environment.se.Weld;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class ContainerShutdownTest {
+
+    private static final String ASYNC = CdiUnitProperties.PREFIX + ContainerShutdown.ASYNC_PROPERTY;
+
+    private final ContainerShutdown shutdown = ContainerShutdown.INSTANCE;
+
+    @Before
+    public void setUp() {
+        System.setProperty(ASYNC, "true");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(ASYNC);
+        shutdown.awaitAll();
+    }
+
+    @Test
+    public void shouldShutdownOnCallerThreadByDefault() {
+        System.clearProperty(ASYNC);
+        final Weld weld = mock(Weld.class);
+        doThrow(new IllegalStateException("failed")).when(weld).shutdown();
+
+        assertThatThrownBy(() -> shutdown.shutdown(weld, First.class)).hasMessage("failed");
+    }
+
+    @Test
+    public void shouldSurfaceFailuresToOwner() {
+        final Weld first = mock(Weld.class);
+        doThrow(new IllegalStateException("first")).when(first).shutdown();
+        final Weld second = mock(Weld.class);
+        doThrow(new IllegalStateException("second")).when(second).shutdown();
+        final Weld other = mock(Weld.class);
+
+        shutdown.shutdown(first, First.class);
+        shutdown.shutdown(other, Second.class);
+        shutdown.shutdown(second, First.class);
+
+        shutdown.await(Second.class);
+        assertThatThrownBy(() -> shutdown.await(First.class))
+                .hasMessage("first")
+                .satisfies(e -> assertThat(e.getSuppressed()).extracting(Throwable::getMessage).containsExactly("second"));
+        // reported once
+        shutdown.await(First.class);
+    }
+
+    @Test
+    public void shouldReportCompletedFailures() {
+        final Weld weld = mock(Weld.class);
+        doThrow(new IllegalStateException("failed")).when(weld).shutdown();
+
+        shutdown.shutdown(weld, First.class);
+        verify(weld, timeout(TimeUnit.SECONDS.toMillis(10))).shutdown();
+
+        assertThatThrownBy(() -> {
+            // the failure is recorded after the call
+            for (int i = 0; i < 100; i++) {
+                shutdown.checkCompleted(First.class);
+                Thread.sleep(50);
+            }
+        }).hasMessage("failed");
+    }
+
+    @Test
+    public void shouldWaitForPendingShutdowns() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Weld weld = mock(Weld.class);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(weld).shutdown();
+        shutdown.shutdown(weld, First.class);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        final CompletableFuture<Void> barrier = CompletableFuture.runAsync(shutdown::awaitAll);
+        Thread.sleep(200);
+        assertThat(barrier).isNotDone();
+
+        release.countDown();
+        barrier.get(10, TimeUnit.SECONDS);
+        // nothing left to report
+        shutdown.await(First.class);
+    }
+
+    @Test
+    public void shouldLogFailuresAtBarrier() {
+        final Weld weld = mock(Weld.class);
+        doThrow(new IllegalStateException("failed")).when(weld).shutdown();
+        shutdown.shutdown(weld, First.class);
+
+        shutdown.awaitAll();
+
+        verify(weld).shutdown();
+        shutdown.await(First.class);
+    }
+
+    static class First {
+    }
+
+    static class Second {
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultBeanArchiveScannerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final DefaultBeanArchiveScanner scanner = new DefaultBeanArchiveScanner();
+
+    @Before
+    public void setUp() {
+        ScanCache.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        ScanCache.getInstance().clear();
+    }
+
+    @Test
+    public void shouldFindJarsWithBeansXml() throws IOException {
+        final URL beans = jar("beans.jar", null, "META-INF/beans.xml");
+        final URL plain = jar("plain.jar", null, "A.class");
+
+        assertThat(scanner.findBeanArchives(List.of(beans, plain))).containsExactly(beans);
+    }
+
+    @Test
+    public void shouldFindDirectories() throws IOException {
+        final URL directory = temporaryFolder.newFolder("classes").toURI().toURL();
+
+        assertThat(scanner.findBeanArchives(List.of(directory))).containsExactly(directory);
+    }
+
+    @Test
+    public void shouldSkipMissingEntries() throws IOException {
+        final URL missing = temporaryFolder.getRoot().toPath().resolve("missing.jar").toUri().toURL();
+
+        assertThat(scanner.findBeanArchives(List.of(missing))).isEmpty();
+    }
+
+    @Test
+    public void shouldFollowManifestClassPath() throws IOException {
+        final URL beans = jar("beans.jar", null, "META-INF/beans.xml");
+        final URL plain = jar("plain.jar", null, "A.class");
+        final URL manifestOnly = jar("surefire.jar", beans + " " + plain);
+
+        assertThat(scanner.findBeanArchives(List.of(manifestOnly))).containsExactly(beans);
+    }
+
+    @Test
+    public void shouldKeepProbesInScanCache() throws IOException {
+        final URL beans = jar("beans.jar", null, "META-INF/beans.xml");
+        scanner.findBeanArchives(List.of(beans));
+        final long misses = ScanCache.getInstance().getMissCount();
+
+        scanner.findBeanArchives(List.of(beans));
+        assertThat(ScanCache.getInstance().getMissCount()).isEqualTo(misses);
+
+        ScanCache.getInstance().clear();
+        scanner.findBeanArchives(List.of(beans));
+        assertThat(ScanCache.getInstance().getMissCount()).isGreaterThan(misses);
+    }
+
+    @Test
+    public void shouldProbeChangedArchive() throws IOException {
+        final URL archive = jar("archive.jar", null, "A.class");
+        final Collection<URL> before = scanner.findBeanArchives(List.of(archive));
+
+        final Path path = temporaryFolder.getRoot().toPath().resolve("archive.jar");
+        Files.delete(path);
+        jar("archive.jar", null, "A.class", "META-INF/beans.xml");
+
+        assertThat(before).isEmpty();
+        assertThat(scanner.findBeanArchives(List.of(archive))).containsExactly(archive);
+    }
+
+    private URL jar(String name, String classPath, String... entries) throws IOException {
+        final Path path = temporaryFolder.getRoot().toPath().resolve(name);
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        if (classPath != null) {
+            manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, classPath);
+        }
+        try (OutputStream out = Files.newOutputStream(path);
+                JarOutputStream jar = new JarOutputStream(out, manifest)) {
+            for (String entry : entries) {
+                jar.putNextEntry(new ZipEntry(entry));
+                jar.closeEntry();
+            }
+        }
+        return path.toUri().toURL();
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.github.cdiunit.AInterface;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiscoveryBoundaryTest {
+
+    private static final String PACKAGES = CdiUnitProperties.PREFIX + DiscoveryBoundary.PACKAGES_PROPERTY;
+
+    private static final String DEPTH = CdiUnitProperties.PREFIX + DiscoveryBoundary.DEPTH_PROPERTY;
+
+    @Before
+    public void setUp() {
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(PACKAGES);
+        System.clearProperty(DEPTH);
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @Test
+    public void shouldBeDisabledByDefault() {
+        assertThat(DiscoveryBoundary.isEnabled()).isFalse();
+        assertThat(DiscoveryBoundary.create()).isNull();
+    }
+
+    @Test
+    public void shouldCrossBeyondDepth() throws NoSuchFieldException {
+        System.setProperty(DEPTH, "1");
+        final DiscoveryBoundary boundary = DiscoveryBoundary.create();
+        boundary.queued(null, Fixture.class.getName());
+        boundary.queued(Fixture.class.getName(), Service.class.getName());
+
+        assertThat(cross(boundary, Fixture.class, "service")).isNull();
+        assertThat(cross(boundary, Service.class, "repository")).isEqualTo(Repository.class);
+        assertThat(boundary.getCrossings()).extracting(DiscoveryBoundary.Crossing::getType)
+                .containsExactly(Repository.class);
+    }
+
+    @Test
+    public void shouldKeepLeastDepth() throws NoSuchFieldException {
+        System.setProperty(DEPTH, "2");
+        final DiscoveryBoundary boundary = DiscoveryBoundary.create();
+        boundary.queued(null, Fixture.class.getName());
+        boundary.queued(Fixture.class.getName(), Service.class.getName());
+        boundary.queued(Service.class.getName(), Repository.class.getName());
+        // injected by the test class as well
+        boundary.queued(Fixture.class.getName(), Repository.class.getName());
+
+        assertThat(cross(boundary, Repository.class, "service")).isNull();
+    }
+
+    @Test
+    public void shouldCrossInjectionPointsOnly() throws NoSuchFieldException, NoSuchMethodException {
+        System.setProperty(DEPTH, "0");
+        final DiscoveryBoundary boundary = DiscoveryBoundary.create();
+        boundary.queued(null, Producer.class.getName());
+
+        assertThat(cross(boundary, Producer.class, "produced")).isNull();
+        final Method produce = Producer.class.getDeclaredMethod("produce", Service.class);
+        assertThat(boundary.cross(Producer.class.getName(), produce, produce.getGenericReturnType())).isNull();
+        assertThat(boundary.cross(Producer.class.getName(), produce, Service.class)).isEqualTo(Service.class);
+        assertThat(cross(boundary, Producer.class, "repositories")).isEqualTo(Repository.class);
+        assertThat(boundary.getCrossings()).extracting(DiscoveryBoundary.Crossing::getType)
+                .containsExactly(Service.class, Repository.class);
+    }
+
+    @Test
+    public void shouldRecordQualifiers() throws NoSuchFieldException {
+        System.setProperty(DEPTH, "0");
+        final DiscoveryBoundary boundary = DiscoveryBoundary.create();
+        boundary.queued(null, Producer.class.getName());
+
+        assertThat(cross(boundary, Producer.class, "named")).isEqualTo(Repository.class);
+        assertThat(boundary.getCrossings()).singleElement()
+                .extracting(DiscoveryBoundary.Crossing::getQualifiers)
+                .satisfies(qualifiers -> assertThat(qualifiers).singleElement().isInstanceOf(Named.class));
+    }
+
+    @Test
+    public void shouldNeverCrossPlatformTypes() throws NoSuchFieldException {
+        System.setProperty(DEPTH, "0");
+        final DiscoveryBoundary boundary = DiscoveryBoundary.create();
+        boundary.queued(null, Fixture.class.getName());
+
+        assertThat(cross(boundary, Fixture.class, "name")).isNull();
+    }
+
+    @Test
+    public void shouldCrossIntoMatchingPackages() throws NoSuchFieldException {
+        System.setProperty(PACKAGES, "io.github.*");
+        final DiscoveryBoundary boundary = DiscoveryBoundary.create();
+        boundary.queued(null, Fixture.class.getName());
+
+        assertThat(cross(boundary, Fixture.class, "external")).isEqualTo(AInterface.class);
+        // the pattern does not match subpackages
+        assertThat(cross(boundary, Fixture.class, "service")).isNull();
+    }
+
+    @Test
+    public void shouldCrossIntoSubpackages() throws NoSuchFieldException {
+        System.setProperty(PACKAGES, "io.github.**");
+        final DiscoveryBoundary boundary = DiscoveryBoundary.create();
+        boundary.queued(null, Fixture.class.getName());
+
+        assertThat(cross(boundary, Fixture.class, "external")).isEqualTo(AInterface.class);
+        assertThat(cross(boundary, Fixture.class, "service")).isEqualTo(Service.class);
+    }
+
+    @Test
+    public void shouldMockTypesBeyondBoundary() {
+        System.setProperty(DEPTH, "1");
+        final TestConfiguration testConfiguration = new TestConfiguration(ServiceFixture.class, null);
+
+        final DiscoveryResult discovery = WeldHelper.discover(testConfiguration);
+        assertThat(discovery.getDiscoveredClasses()).contains(Service.class).doesNotContain(Repository.class);
+
+        final Weld weld = WeldHelper.createWeld(discovery);
+        final WeldContainer container = WeldHelper.initialize(weld, testConfiguration);
+        try {
+            final Service service = container.select(Service.class).get();
+            assertThat(Mockito.mockingDetails(service.repository).isMock()).isTrue();
+            assertThat(container.select(Repository.class).get()).isSameAs(service.repository);
+        } finally {
+            weld.shutdown();
+        }
+    }
+
+    private static Class<?> cross(DiscoveryBoundary boundary, Class<?> requester, String fieldName)
+            throws NoSuchFieldException {
+        final Field field = requester.getDeclaredField(fieldName);
+        return boundary.cross(requester.getName(), field, field.getGenericType());
+    }
+
+    static class Fixture {
+
+        @Inject
+        Service service;
+
+        @Inject
+        AInterface external;
+
+        @Inject
+        String name;
+
+    }
+
+    static class ServiceFixture {
+
+        @Inject
+        Service service;
+
+    }
+
+    static class Service {
+
+        @Inject
+        Repository repository;
+
+    }
+
+    static class Repository {
+
+        @Inject
+        Service service;
+
+    }
+
+    static class Producer {
+
+        @Produces
+        Repository produced;
+
+        @Inject
+        Instance<Repository> repositories;
+
+        @Inject
+        @Named("main")
+        Repository named;
+
+        @Produces
+        Repository produce(Service service) {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.List;
+import java.util.Set;
+
+import jakarta.enterprise.inject.spi.Extension;
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.cdiunit.IgnoredClasses;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class DiscoveryCacheTest {
+
+    @Before
+    public void setUp() {
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(CdiUnitProperties.PREFIX + PackagePatterns.IGNORED_PACKAGES_PROPERTY);
+        System.clearProperty(CdiUnitProperties.PREFIX + SubtypeIndex.RESOLVE_IMPLEMENTATIONS_PROPERTY);
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @Test
+    public void shouldReuseDiscoveryResult() {
+        final TestConfiguration testConfiguration = new TestConfiguration(Fixture.class, null);
+        final DiscoveryResult discovered = WeldHelper.discover(testConfiguration);
+        final DiscoveryCache.Entry entry = DiscoveryCache.INSTANCE.get(DiscoveryCache.Key.of(testConfiguration));
+
+        assertThat(entry).isNotNull();
+        final DiscoveryResult restored = WeldHelper.discover(new TestConfiguration(Fixture.class, null));
+        assertThat(DiscoveryCache.INSTANCE.get(DiscoveryCache.Key.of(testConfiguration))).isSameAs(entry);
+        assertThat(restored.getDiscoveredClasses())
+                .containsExactlyElementsOf(discovered.getDiscoveredClasses())
+                .contains(Fixture.class, Dependency.class);
+    }
+
+    @Test
+    public void shouldKeyOnTestClassAndMethod() throws NoSuchMethodException {
+        final DiscoveryCache.Key key = DiscoveryCache.Key.of(new TestConfiguration(Fixture.class, null));
+
+        assertThat(DiscoveryCache.Key.of(new TestConfiguration(Fixture.class, null))).isEqualTo(key);
+        assertThat(DiscoveryCache.Key.of(new TestConfiguration(Dependency.class, null))).isNotEqualTo(key);
+        assertThat(DiscoveryCache.Key.of(new TestConfiguration(Fixture.class, null, List.of(Dependency.class))))
+                .isNotEqualTo(key);
+        assertThat(DiscoveryCache.Key.of(new TestConfiguration(Fixture.class, Fixture.class.getMethod("plain"))))
+                .isEqualTo(key);
+        assertThat(DiscoveryCache.Key.of(new TestConfiguration(Fixture.class, Fixture.class.getMethod("annotated"))))
+                .isNotEqualTo(key);
+    }
+
+    @Test
+    public void shouldKeyOnDiscoveryProperties() {
+        final TestConfiguration testConfiguration = new TestConfiguration(Fixture.class, null);
+        final DiscoveryCache.Key key = DiscoveryCache.Key.of(testConfiguration);
+
+        System.setProperty(CdiUnitProperties.PREFIX + PackagePatterns.IGNORED_PACKAGES_PROPERTY, "org.example.**");
+        final DiscoveryCache.Key ignoring = DiscoveryCache.Key.of(testConfiguration);
+        assertThat(ignoring).isNotEqualTo(key);
+
+        System.setProperty(CdiUnitProperties.PREFIX + SubtypeIndex.RESOLVE_IMPLEMENTATIONS_PROPERTY, "true");
+        assertThat(DiscoveryCache.Key.of(testConfiguration)).isNotEqualTo(key).isNotEqualTo(ignoring);
+    }
+
+    @Test
+    public void shouldCreateExtensionsAgain() {
+        final TestConfiguration testConfiguration = new TestConfiguration(Fixture.class, null);
+        final RestorableExtension extension = new RestorableExtension();
+        final DiscoveryCache.Entry entry = newEntry(testConfiguration, extension);
+        assertThat(entry.isRestorable()).isTrue();
+
+        final DefaultDiscoveryContext first = newContext(testConfiguration);
+        entry.restore(first);
+        final DefaultDiscoveryContext second = newContext(testConfiguration);
+        entry.restore(second);
+
+        assertThat(first.getExtensions()).hasSize(1).first()
+                .isInstanceOf(RestorableExtension.class)
+                .isNotSameAs(extension);
+        assertThat(second.getExtensions()).hasSize(1).first()
+                .isInstanceOf(RestorableExtension.class)
+                .isNotSameAs(extension)
+                .isNotSameAs(first.getExtensions().iterator().next());
+    }
+
+    @Test
+    public void shouldNotCacheExtensionsWhichCanNotBeCreatedAgain() {
+        final TestConfiguration testConfiguration = new TestConfiguration(Fixture.class, null);
+        final DiscoveryCache.Entry entry = newEntry(testConfiguration, new StatefulExtension("state"));
+        assertThat(entry.isRestorable()).isFalse();
+
+        final DiscoveryCache.Key key = DiscoveryCache.Key.of(testConfiguration);
+        DiscoveryCache.INSTANCE.put(key, entry);
+
+        assertThat(DiscoveryCache.INSTANCE.get(key)).isNull();
+        assertThatIllegalStateException().isThrownBy(() -> entry.restore(newContext(testConfiguration)));
+    }
+
+    private static DiscoveryCache.Entry newEntry(TestConfiguration testConfiguration, Extension extension) {
+        return new DiscoveryCache.Entry(context -> {
+        }, context -> {
+        }, Set.of(Fixture.class), List.of(extension), newContext(testConfiguration));
+    }
+
+    private static DefaultDiscoveryContext newContext(TestConfiguration testConfiguration) {
+        return new DefaultDiscoveryContext(new CachingClassGraphScanner(new DefaultBeanArchiveScanner()),
+                testConfiguration);
+    }
+
+    static class Fixture {
+
+        @Inject
+        Dependency dependency;
+
+        public void plain() {
+        }
+
+        @IgnoredClasses(Dependency.class)
+        public void annotated() {
+        }
+
+    }
+
+    static class Dependency {
+    }
+
+    public static class RestorableExtension implements Extension {
+    }
+
+    public static class StatefulExtension implements Extension {
+
+        private final String state;
+
+        public StatefulExtension(String state) {
+            this.state = state;
+        }
+
+        @Override
+        public String toString() {
+            return state;
+        }
+
+    }
+
+}
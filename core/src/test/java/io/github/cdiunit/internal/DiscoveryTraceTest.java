@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiscoveryTraceTest {
+
+    private static final String TRACE = CdiUnitProperties.PREFIX + DiscoveryTrace.TRACE_PROPERTY;
+
+    private static final String REPORTS = CdiUnitProperties.PREFIX + DiscoveryTrace.REPORTS_DIRECTORY_PROPERTY;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final TestConfiguration testConfiguration = new TestConfiguration(Fixture.class, null);
+
+    @Before
+    public void setUp() {
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(TRACE);
+        System.clearProperty(REPORTS);
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @Test
+    public void shouldBeDisabledByDefault() {
+        assertThat(DiscoveryTrace.create()).isNull();
+
+        System.setProperty(TRACE, "false");
+        assertThat(DiscoveryTrace.isEnabled()).isFalse();
+
+        System.setProperty(TRACE, "xml");
+        assertThat(DiscoveryTrace.isEnabled()).isFalse();
+    }
+
+    @Test
+    public void shouldWriteJson() {
+        System.setProperty(TRACE, "json");
+
+        assertThat(trace().toJson(testConfiguration)).isEqualTo("{\n"
+                + "  \"testClass\": \"" + Fixture.class.getName() + "\",\n"
+                + "  \"classes\": [\n"
+                + "    {\"name\": \"a.Service\", \"outcome\": \"accepted\", \"nanos\": 1500000,\n"
+                + "      \"requestedBy\": [{\"via\": \"test\"}],\n"
+                + "      \"ignoredBy\": []},\n"
+                + "    {\"name\": \"a.Repository\", \"outcome\": \"not_in_bean_archive\", \"nanos\": 0,\n"
+                + "      \"requestedBy\": [{\"class\": \"a.Service\", \"via\": \"field \\\"repository\\\"\"}],\n"
+                + "      \"ignoredBy\": [{\"class\": \"a.Service\", \"via\": \"class\"}]}\n"
+                + "  ]\n"
+                + "}\n");
+    }
+
+    @Test
+    public void shouldWriteDot() {
+        System.setProperty(TRACE, "dot");
+
+        assertThat(trace().toDot(testConfiguration)).isEqualTo("digraph \"" + Fixture.class.getName() + "\" {\n"
+                + "  node [shape=box];\n"
+                + "  \"a.Service\" [label=\"a.Service\\naccepted 1.500 ms\"];\n"
+                + "  \"a.Repository\" [label=\"a.Repository\\nnot_in_bean_archive 0.000 ms\", style=dashed, color=gray];\n"
+                + "  \"(test)\" -> \"a.Service\" [label=\"\"];\n"
+                + "  \"a.Service\" -> \"a.Repository\" [label=\"field \\\"repository\\\"\"];\n"
+                + "  \"a.Service\" -> \"a.Repository\" [label=\"class\", style=dotted];\n"
+                + "  \"(test)\" [shape=ellipse];\n"
+                + "}\n");
+    }
+
+    @Test
+    public void shouldWriteReportOfDiscovery() throws Exception {
+        final Path reports = temporaryFolder.newFolder("reports").toPath();
+        System.setProperty(TRACE, "json");
+        System.setProperty(REPORTS, reports.toString());
+
+        WeldHelper.discover(testConfiguration);
+
+        final String json = Files.readString(reports.resolve(Fixture.class.getName() + ".discovery.json"),
+                StandardCharsets.UTF_8);
+        assertThat(json)
+                .contains("\"testClass\": \"" + Fixture.class.getName() + "\"")
+                .contains("{\"name\": \"" + Dependency.class.getName() + "\", \"outcome\": \"accepted\"")
+                .contains("{\"class\": \"" + Fixture.class.getName() + "\", \"via\": \"field dependency\"}");
+    }
+
+    private static DiscoveryTrace trace() {
+        final DiscoveryTrace trace = DiscoveryTrace.create();
+        trace.processed("a.Service");
+        trace.outcome("a.Service", DiscoveryTrace.Outcome.ACCEPTED, 1_500_000);
+        trace.setRequester("a.Service", "field \"repository\"");
+        trace.processed("a.Repository");
+        trace.setRequester("a.Service", "class");
+        trace.ignored("a.Repository");
+        trace.outcome("a.Repository", DiscoveryTrace.Outcome.NOT_IN_BEAN_ARCHIVE, 0);
+        return trace;
+    }
+
+    static class Fixture {
+
+        @Inject
+        Dependency dependency;
+
+    }
+
+    static class Dependency {
+    }
+
+}
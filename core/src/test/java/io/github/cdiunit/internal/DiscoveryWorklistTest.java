@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiscoveryWorklistTest {
+
+    private static final String PARALLEL = CdiUnitProperties.PREFIX + DiscoveryWorklist.PARALLEL_PROPERTY;
+
+    private static final String THRESHOLD = CdiUnitProperties.PREFIX + DiscoveryWorklist.PARALLEL_THRESHOLD_PROPERTY;
+
+    @Before
+    public void setUp() {
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(PARALLEL);
+        System.clearProperty(THRESHOLD);
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @Test
+    public void shouldBeSerialByDefault() {
+        System.setProperty(THRESHOLD, "1");
+
+        assertThat(discoveryThreads()).hasSize(2).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    public void shouldDiscoverOnScanExecutorIfEnabled() {
+        System.setProperty(PARALLEL, "true");
+        System.setProperty(THRESHOLD, "1");
+
+        assertThat(discoveryThreads()).hasSize(2).doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    public void shouldDiscoverSameInParallel() {
+        final DiscoveryResult serial = WeldHelper.discover(new TestConfiguration(Fixture.class, null));
+        DiscoveryCache.INSTANCE.clear();
+        System.setProperty(PARALLEL, "true");
+        System.setProperty(THRESHOLD, "1");
+        final DiscoveryResult parallel = WeldHelper.discover(new TestConfiguration(Fixture.class, null));
+
+        assertThat(parallel).isNotSameAs(serial);
+        assertThat(new ArrayList<>(parallel.getDiscoveredClasses()))
+                .containsExactlyElementsOf(serial.getDiscoveredClasses())
+                .contains(First.class, Second.class, Third.class, Fourth.class, Fifth.class);
+        assertThat(parallel.getFingerprint()).isEqualTo(serial.getFingerprint());
+    }
+
+    private static List<Thread> discoveryThreads() {
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        final ClasspathScanner scanner = new CachingClassGraphScanner(new DefaultBeanArchiveScanner());
+        final DiscoveryWorklist worklist = new DiscoveryWorklist(scanner,
+                (context, cls) -> threads.add(Thread.currentThread()),
+                (context, field) -> {
+                },
+                (context, method) -> {
+                });
+        final DefaultDiscoveryContext discoveryContext = new DefaultDiscoveryContext(scanner,
+                new TestConfiguration(Fixture.class, null), false);
+        discoveryContext.processBean(Fourth.class);
+        discoveryContext.processBean(Fifth.class);
+        worklist.process(discoveryContext);
+        return threads;
+    }
+
+    static class Fixture {
+
+        @Inject
+        First first;
+
+        @Inject
+        Second second;
+
+        @Inject
+        Third third;
+
+    }
+
+    static class First {
+
+        @Inject
+        Fourth fourth;
+
+    }
+
+    static class Second {
+
+        @Inject
+        Instance<Fifth> fifth;
+
+    }
+
+    static class Third {
+
+        @Inject
+        Fourth fourth;
+
+        @Inject
+        Fifth fifth;
+
+    }
+
+    static class Fourth {
+    }
+
+    static class Fifth {
+    }
+
+}
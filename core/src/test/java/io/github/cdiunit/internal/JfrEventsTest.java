@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+import io.github.cdiunit.ActivateScopes;
+import io.github.cdiunit.CdiRunner;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JfrEventsTest {
+
+    private static final String PREFIX = "io.github.cdiunit.";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        ScanCache.getInstance().clear();
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @Test
+    public void shouldRecordBootstrapPhases() throws Exception {
+        final Map<String, List<RecordedEvent>> events = record();
+
+        final RecordedEvent discovery = single(events, "Discovery");
+        assertThat(testClass(discovery)).isEqualTo(Fixture.class.getName());
+        assertThat(discovery.getInt("classCount")).isPositive();
+        assertThat(discovery.getBoolean("cached")).isFalse();
+        assertThat(discovery.getBoolean("precomputed")).isFalse();
+
+        final RecordedEvent initialization = single(events, "WeldInitialization");
+        assertThat(testClass(initialization)).isEqualTo(Fixture.class.getName());
+        assertThat(initialization.getString("containerId")).isNotEmpty();
+
+        final RecordedEvent injection = single(events, "Injection");
+        assertThat(testClass(injection)).isEqualTo(Fixture.class.getName());
+        assertThat(injection.getString("testMethod")).isEqualTo("test");
+
+        assertThat(events.get(PREFIX + "ScopeActivation"))
+                .extracting(event -> event.getBoolean("activation"))
+                .containsExactly(true, false);
+        assertThat(events.get(PREFIX + "ScopeActivation"))
+                .allSatisfy(event -> assertThat(event.getString("testMethod")).isEqualTo("test"));
+
+        final RecordedEvent shutdown = single(events, "Shutdown");
+        assertThat(testClass(shutdown)).isEqualTo(Fixture.class.getName());
+        assertThat(shutdown.getBoolean("async")).isFalse();
+    }
+
+    @Test
+    public void shouldRecordScansAndCacheStatistics() throws Exception {
+        final Map<String, List<RecordedEvent>> events = record();
+
+        assertThat(events.get(PREFIX + "Scan"))
+                .isNotEmpty()
+                .extracting(event -> event.getString("operation"))
+                .contains("classpath", "bean-archives");
+        assertThat(events.get(PREFIX + "Scan"))
+                .filteredOn(event -> "bean-archives".equals(event.getString("operation")))
+                .allSatisfy(event -> assertThat(event.getInt("resultCount")).isPositive());
+        assertThat(events.get(PREFIX + "ScanCacheStatistics"))
+                .isNotEmpty()
+                .last()
+                .satisfies(event -> {
+                    assertThat(event.getLong("misses")).isPositive();
+                    assertThat(event.getInt("size")).isPositive();
+                });
+    }
+
+    private Map<String, List<RecordedEvent>> record() throws Exception {
+        final Path file = temporaryFolder.newFile("events.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("Discovery", "WeldInitialization", "Injection", "ScopeActivation", "Shutdown",
+                    "Scan", "ScanCacheStatistics")) {
+                recording.enable(PREFIX + name);
+            }
+            recording.start();
+            final Result result = JUnitCore.runClasses(Fixture.class);
+            assertThat(result.getFailures()).isEmpty();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+    }
+
+    private static RecordedEvent single(Map<String, List<RecordedEvent>> events, String name) {
+        assertThat(events.get(PREFIX + name)).hasSize(1);
+        return events.get(PREFIX + name).get(0);
+    }
+
+    private static String testClass(RecordedEvent event) {
+        final RecordedClass testClass = event.getClass("testClass");
+        return testClass == null ? null : testClass.getName();
+    }
+
+    @RunWith(CdiRunner.class)
+    public static class Fixture {
+
+        @Inject
+        Dependency dependency;
+
+        @Test
+        @ActivateScopes(RequestScoped.class)
+        public void test() {
+            assertThat(dependency).isNotNull();
+        }
+
+    }
+
+    static class Dependency {
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistentScanCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path source;
+
+    private Path directory;
+
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        source = temporaryFolder.newFolder("classes").toPath();
+        Files.write(source.resolve("A.class"), new byte[] { 1, 2, 3 });
+        directory = temporaryFolder.newFolder("cache").toPath();
+        PersistentScanCache.clearStamps();
+    }
+
+    @After
+    public void tearDown() {
+        PersistentScanCache.clearStamps();
+    }
+
+    @Test
+    public void shouldComputeWithoutDirectory() throws IOException {
+        final PersistentScanCache cache = PersistentScanCache.fromProperties();
+
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(lookup(cache)).containsExactly("A");
+        assertThat(lookup(cache)).containsExactly("A");
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    public void shouldReadStoredValue() throws IOException {
+        assertThat(lookup(new PersistentScanCache(directory, false))).containsExactly("A");
+        // a new JVM computes the stamps again
+        PersistentScanCache.clearStamps();
+
+        assertThat(lookup(new PersistentScanCache(directory, false))).containsExactly("A");
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    public void shouldComputeStampsOncePerJvm() throws IOException {
+        final PersistentScanCache cache = new PersistentScanCache(directory, true);
+        lookup(cache);
+        Files.write(source.resolve("B.class"), new byte[] { 4 });
+
+        assertThat(lookup(cache)).containsExactly("A");
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    public void shouldRecomputeIfSourceChanged() throws IOException {
+        lookup(new PersistentScanCache(directory, false));
+        Files.write(source.resolve("B.class"), new byte[] { 4 });
+        PersistentScanCache.clearStamps();
+
+        lookup(new PersistentScanCache(directory, false));
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    public void shouldRecomputeIfContentChanged() throws IOException {
+        lookup(new PersistentScanCache(directory, true));
+        Files.write(source.resolve("A.class"), new byte[] { 3, 2, 1 });
+        PersistentScanCache.clearStamps();
+
+        lookup(new PersistentScanCache(directory, true));
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    public void shouldRecomputeIfValidationChanged() throws IOException {
+        lookup(new PersistentScanCache(directory, false));
+
+        lookup(new PersistentScanCache(directory, true));
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    public void shouldRecomputeIfEntryIsTruncated() throws IOException {
+        lookup(new PersistentScanCache(directory, false));
+        final Path entry = entry();
+        final byte[] bytes = Files.readAllBytes(entry);
+        Files.write(entry, Arrays.copyOf(bytes, bytes.length - 3));
+        PersistentScanCache.clearStamps();
+
+        assertThat(lookup(new PersistentScanCache(directory, false))).containsExactly("A");
+        assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    public void shouldRecomputeIfEntryIsCorrupt() throws IOException {
+        lookup(new PersistentScanCache(directory, false));
+        final Path entry = entry();
+        final byte[] bytes = Files.readAllBytes(entry);
+        // overwrite the key length
+        bytes[9] = (byte) 0x7f;
+        Files.write(entry, bytes);
+        PersistentScanCache.clearStamps();
+
+        assertThat(lookup(new PersistentScanCache(directory, false))).containsExactly("A");
+        assertThat(computations).hasValue(2);
+        assertThat(Files.readAllBytes(entry())).isNotEqualTo(bytes);
+    }
+
+    private List<String> lookup(PersistentScanCache cache) throws IOException {
+        final URL url = source.toUri().toURL();
+        return cache.computeIfAbsent("classes:" + url, List.of(url), () -> {
+            computations.incrementAndGet();
+            return List.of("A");
+        });
+    }
+
+    private Path entry() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            final List<Path> entries = files.collect(Collectors.toList());
+            assertThat(entries).hasSize(1);
+            return entries.get(0);
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.inject.Inject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrecomputedDiscoveryTest {
+
+    private static final String IGNORED_PACKAGES = CdiUnitProperties.PREFIX
+            + PackagePatterns.IGNORED_PACKAGES_PROPERTY;
+
+    private Path testClasses;
+
+    private Path file;
+
+    @Before
+    public void setUp() throws Exception {
+        testClasses = Paths.get(Fixture.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        file = testClasses.resolve(PrecomputedDiscovery.DIRECTORY)
+                .resolve(Fixture.class.getName() + PrecomputedDiscovery.SUFFIX);
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        System.clearProperty(IGNORED_PACKAGES);
+        Files.deleteIfExists(file);
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @Test
+    public void shouldStoreDiscoveryResult() throws Exception {
+        assertThat(PrecomputedDiscovery.generate(testClasses, List.of(Fixture.class.getName()))).isEqualTo(1);
+
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        final String source = testClasses.toFile().toURI().toURL().toString();
+        assertThat(lines).contains("version=1", "bean=" + Fixture.class.getName(), "bean=" + Dependency.class.getName());
+        assertThat(lines)
+                .anyMatch(line -> line.startsWith("source=") && line.endsWith(source));
+        assertThat(lines).contains("property=" + PackagePatterns.IGNORED_PACKAGES_PROPERTY);
+    }
+
+    @Test
+    public void shouldDiscoverIfDiscoveryPropertiesDiffer() throws IOException {
+        PrecomputedDiscovery.generate(testClasses, List.of(Fixture.class.getName()));
+        DiscoveryCache.INSTANCE.clear();
+        append("bean=" + Unrelated.class.getName());
+        System.setProperty(IGNORED_PACKAGES, "com.acme.**");
+
+        final DiscoveryResult result = WeldHelper.discover(new TestConfiguration(Fixture.class, null));
+
+        assertThat(result.getDiscoveredClasses()).contains(Dependency.class).doesNotContain(Unrelated.class);
+    }
+
+    @Test
+    public void shouldStoreDiscoveryPropertyValues() throws IOException {
+        System.setProperty(IGNORED_PACKAGES, "com.acme.**");
+
+        PrecomputedDiscovery.generate(testClasses, List.of(Fixture.class.getName()));
+
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8))
+                .contains("property=" + PackagePatterns.IGNORED_PACKAGES_PROPERTY + "=com.acme.**");
+    }
+
+    @Test
+    public void shouldUseFreshPrecomputedResult() throws IOException {
+        PrecomputedDiscovery.generate(testClasses, List.of(Fixture.class.getName()));
+        DiscoveryCache.INSTANCE.clear();
+        // the live discovery never finds the unrelated class
+        append("bean=" + Unrelated.class.getName());
+
+        final DiscoveryResult result = WeldHelper.discover(new TestConfiguration(Fixture.class, null));
+
+        assertThat(result.getDiscoveredClasses()).contains(Dependency.class, Unrelated.class);
+    }
+
+    @Test
+    public void shouldDiscoverIfPrecomputedResultIsStale() throws IOException {
+        PrecomputedDiscovery.generate(testClasses, List.of(Fixture.class.getName()));
+        DiscoveryCache.INSTANCE.clear();
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .map(line -> line.startsWith("source=") ? "source=0" + line.substring(line.indexOf(' ')) : line)
+                .collect(Collectors.toCollection(ArrayList::new));
+        lines.add("bean=" + Unrelated.class.getName());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        final DiscoveryResult result = WeldHelper.discover(new TestConfiguration(Fixture.class, null));
+
+        assertThat(result.getDiscoveredClasses()).contains(Dependency.class).doesNotContain(Unrelated.class);
+    }
+
+    @Test
+    public void shouldDiscoverIfPrecomputedResultIsMissing() {
+        final DiscoveryResult result = WeldHelper.discover(new TestConfiguration(Fixture.class, null));
+
+        assertThat(result.getDiscoveredClasses()).contains(Dependency.class).doesNotContain(Unrelated.class);
+    }
+
+    private void append(String line) throws IOException {
+        final List<String> lines = new ArrayList<>(Files.readAllLines(file, StandardCharsets.UTF_8));
+        lines.add(line);
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    public static class Fixture {
+
+        @Inject
+        Dependency dependency;
+
+    }
+
+    public static class Dependency {
+    }
+
+    public static class Unrelated {
+    }
+
+}
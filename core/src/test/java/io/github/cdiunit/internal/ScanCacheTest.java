@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ScanCacheTest {
+
+    @Test
+    public void shouldWeighCollectionsBySize() {
+        final ScanCache cache = new ScanCache(100);
+
+        cache.computeIfAbsent("a", () -> List.of(1, 2, 3));
+        cache.computeIfAbsent("b", () -> "value");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getWeight()).isEqualTo(4 + 1);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedByWeight() {
+        final ScanCache cache = new ScanCache(10);
+        cache.computeIfAbsent("a", () -> List.of(1, 2, 3));
+        cache.computeIfAbsent("b", () -> List.of(1, 2, 3));
+        // makes "b" the least recently used
+        cache.computeIfAbsent("a", () -> List.of());
+        final long generation = cache.getGeneration();
+
+        cache.computeIfAbsent("c", () -> List.of(1, 2, 3));
+
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.getWeight()).isEqualTo(8);
+        assertThat(cache.getGeneration()).isNotEqualTo(generation);
+        assertThat(cache.<List<Integer>> computeIfAbsent("a", List::of)).hasSize(3);
+        assertThat(cache.<List<Integer>> computeIfAbsent("b", List::of)).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepEntryExceedingWeightAlone() {
+        final ScanCache cache = new ScanCache(2);
+        cache.computeIfAbsent("a", () -> List.of(1));
+
+        cache.computeIfAbsent("b", () -> List.of(1, 2, 3));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.<List<Integer>> computeIfAbsent("b", List::of)).hasSize(3);
+    }
+
+    @Test
+    public void shouldNotStoreWithoutWeight() {
+        final ScanCache cache = new ScanCache(0);
+        final AtomicInteger computations = new AtomicInteger();
+
+        cache.computeIfAbsent("a", computations::incrementAndGet);
+        cache.computeIfAbsent("a", computations::incrementAndGet);
+
+        assertThat(computations).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void shouldComputeConcurrentMissesOnce() throws Exception {
+        final ScanCache cache = new ScanCache(100);
+        final AtomicInteger computations = new AtomicInteger();
+        final CountDownLatch computing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final int threads = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Object>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.computeIfAbsent("a", () -> {
+                computations.incrementAndGet();
+                computing.countDown();
+                await(release);
+                return "value";
+            })));
+            assertThat(computing.await(10, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < threads; i++) {
+                results.add(executor.submit(() -> cache.computeIfAbsent("a", () -> {
+                    computations.incrementAndGet();
+                    return "other";
+                })));
+            }
+            release.countDown();
+
+            for (Future<Object> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+            assertThat(computations).hasValue(1);
+            assertThat(cache.getMissCount()).isEqualTo(1);
+            assertThat(cache.getHitCount()).isEqualTo(threads - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldNotCacheFailures() {
+        final ScanCache cache = new ScanCache(100);
+
+        assertThatThrownBy(() -> cache.computeIfAbsent("a", () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.<String> computeIfAbsent("a", () -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    public void shouldInvalidateDerivedEntriesOnly() {
+        final ScanCache cache = new ScanCache(100);
+        cache.computeIfAbsent("a", () -> List.of(1));
+        cache.computeIfAbsent(ScanCache.DERIVED_PREFIX + "b", () -> List.of(1, 2));
+        final long generation = cache.getGeneration();
+
+        cache.invalidateDerived();
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getWeight()).isEqualTo(2);
+        assertThat(cache.getGeneration()).isNotEqualTo(generation);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
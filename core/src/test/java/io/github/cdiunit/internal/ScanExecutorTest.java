@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScanExecutorTest {
+
+    private static final String EXECUTOR = CdiUnitProperties.PREFIX + ScanExecutor.EXECUTOR_PROPERTY;
+
+    private static final String THREADS = CdiUnitProperties.PREFIX + ScanExecutor.THREADS_PROPERTY;
+
+    private ScanExecutor scanExecutor;
+
+    @After
+    public void tearDown() {
+        System.clearProperty(EXECUTOR);
+        System.clearProperty(THREADS);
+        if (scanExecutor != null) {
+            scanExecutor.executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldUseThreadPoolByDefault() {
+        scanExecutor = ScanExecutor.create();
+
+        assertThat(scanExecutor.executor).isInstanceOf(ThreadPoolExecutor.class);
+        assertThat(((ThreadPoolExecutor) scanExecutor.executor).getMaximumPoolSize())
+                .isEqualTo(ScanExecutor.DEFAULT_THREADS);
+        assertThat(scanExecutor.parallelism).isEqualTo(ScanExecutor.DEFAULT_THREADS);
+    }
+
+    @Test
+    public void shouldUseConfiguredThreads() throws Exception {
+        System.setProperty(THREADS, "3");
+
+        scanExecutor = ScanExecutor.create();
+
+        assertThat(((ThreadPoolExecutor) scanExecutor.executor).getMaximumPoolSize()).isEqualTo(3);
+        assertThat(scanExecutor.parallelism).isEqualTo(3);
+        final Thread worker = scanExecutor.executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+        assertThat(worker.isDaemon()).isTrue();
+        assertThat(worker.getName()).startsWith("cdi-unit-scan-");
+    }
+
+    @Test
+    public void shouldUseAtLeastOneThread() {
+        System.setProperty(THREADS, "0");
+
+        scanExecutor = ScanExecutor.create();
+
+        assertThat(scanExecutor.parallelism).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRunOnCallerThread() throws Exception {
+        System.setProperty(EXECUTOR, "caller");
+
+        scanExecutor = ScanExecutor.create();
+
+        assertThat(scanExecutor.parallelism).isEqualTo(1);
+        assertThat(scanExecutor.executor.submit(Thread::currentThread).get()).isSameAs(Thread.currentThread());
+        scanExecutor.executor.shutdown();
+        assertThat(scanExecutor.executor.isTerminated()).isTrue();
+    }
+
+    @Test
+    public void shouldUseVirtualThreadsIfAvailable() {
+        System.setProperty(EXECUTOR, "virtual");
+        System.setProperty(THREADS, "3");
+
+        scanExecutor = ScanExecutor.create();
+
+        if (Runtime.version().feature() >= 21) {
+            assertThat(scanExecutor.executor).isNotInstanceOf(ThreadPoolExecutor.class);
+        } else {
+            // falls back to the thread pool
+            assertThat(scanExecutor.executor).isInstanceOf(ThreadPoolExecutor.class);
+        }
+        assertThat(scanExecutor.parallelism).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldFallBackToThreadPoolForUnknownExecutor() {
+        System.setProperty(EXECUTOR, "unknown");
+
+        scanExecutor = ScanExecutor.create();
+
+        assertThat(scanExecutor.executor).isInstanceOf(ThreadPoolExecutor.class);
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.executor.SingleThreadExecutorServices;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.junit.Test;
+
+import io.github.cdiunit.WeldProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedExecutorServicesTest {
+
+    @Test
+    public void shouldUseSharedExecutor() {
+        assertThat(executorOf(Fixture.class)).isInstanceOf(SharedExecutorServices.class);
+    }
+
+    @Test
+    public void shouldUseSameExecutorForAllContainers() {
+        assertThat(executorOf(Fixture.class)).isSameAs(executorOf(Fixture.class));
+    }
+
+    @Test
+    public void shouldUseWeldExecutorIfConfiguredExplicitly() {
+        assertThat(WeldBootstrapProperties.isExecutorConfigured(ExplicitExecutor.class)).isTrue();
+        assertThat(executorOf(ExplicitExecutor.class)).isInstanceOf(SingleThreadExecutorServices.class);
+    }
+
+    @Test
+    public void shouldUseWeldExecutorIfConfiguredBySystemProperty() {
+        System.setProperty(WeldBootstrapProperties.THREAD_POOL_TYPE, "SINGLE_THREAD");
+        try {
+            assertThat(executorOf(Fixture.class)).isInstanceOf(SingleThreadExecutorServices.class);
+        } finally {
+            System.clearProperty(WeldBootstrapProperties.THREAD_POOL_TYPE);
+        }
+    }
+
+    @Test
+    public void shouldUseWeldExecutorIfDisabled() {
+        System.setProperty(CdiUnitProperties.PREFIX + SharedExecutorServices.SHARED_PROPERTY, "false");
+        try {
+            assertThat(executorOf(Fixture.class)).isNotInstanceOf(SharedExecutorServices.class);
+        } finally {
+            System.clearProperty(CdiUnitProperties.PREFIX + SharedExecutorServices.SHARED_PROPERTY);
+        }
+    }
+
+    /**
+     * Executor services in effect in the container of the test class.
+     */
+    private static ExecutorServices executorOf(Class<?> testClass) {
+        final TestConfiguration testConfiguration = new TestConfiguration(testClass, null);
+        final Weld weld = WeldHelper.configureWeld(testConfiguration);
+        final WeldContainer container = WeldHelper.initialize(weld, testConfiguration);
+        try {
+            final BeanManagerImpl beanManager = BeanManagerProxy.unwrap(container.getBeanManager());
+            return beanManager.getServices().get(ExecutorServices.class);
+        } finally {
+            weld.shutdown();
+        }
+    }
+
+    static class Fixture {
+    }
+
+    @WeldProperty(name = WeldBootstrapProperties.THREAD_POOL_TYPE, value = "SINGLE_THREAD")
+    static class ExplicitExecutor {
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import java.util.Set;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Provider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SubtypeIndexTest {
+
+    private static final String RESOLVE = CdiUnitProperties.PREFIX + SubtypeIndex.RESOLVE_IMPLEMENTATIONS_PROPERTY;
+
+    @Before
+    public void setUp() {
+        System.setProperty(RESOLVE, "true");
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(RESOLVE);
+        DiscoveryCache.INSTANCE.clear();
+    }
+
+    @Test
+    public void shouldIndexConcreteImplementations() {
+        final SubtypeIndex index = SubtypeIndex.of(new CachingClassGraphScanner(new DefaultBeanArchiveScanner()));
+
+        assertThat(index.getImplementations(Handler.class.getName()))
+                .containsExactlyInAnyOrder(FirstHandler.class.getName(), SecondHandler.class.getName());
+        assertThat(index.getImplementations(AbstractRepository.class.getName()))
+                .containsExactly(JpaRepository.class.getName());
+        assertThat(index.getImplementations(FirstHandler.class.getName())).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepIndexInScanCache() {
+        final ClasspathScanner scanner = new CachingClassGraphScanner(new DefaultBeanArchiveScanner());
+        final SubtypeIndex index = SubtypeIndex.of(scanner);
+
+        assertThat(SubtypeIndex.of(scanner)).isSameAs(index);
+        ScanCache.getInstance().invalidateDerived();
+        final SubtypeIndex rescanned = SubtypeIndex.of(scanner);
+        assertThat(rescanned).isNotSameAs(index);
+        ScanCache.getInstance().clear();
+        assertThat(SubtypeIndex.of(scanner)).isNotSameAs(rescanned);
+    }
+
+    @Test
+    public void shouldResolveInstanceImplementations() {
+        assertThat(discover(InstanceFixture.class)).contains(FirstHandler.class, SecondHandler.class);
+    }
+
+    @Test
+    public void shouldResolveProviderImplementations() {
+        assertThat(discover(ProviderFixture.class)).contains(FirstHandler.class, SecondHandler.class);
+    }
+
+    @Test
+    public void shouldResolveAbstractClassImplementations() {
+        assertThat(discover(AbstractFixture.class)).contains(JpaRepository.class);
+    }
+
+    @Test
+    public void shouldResolveQualifiedImplementations() {
+        assertThat(discover(QualifiedFixture.class)).contains(FirstHandler.class, SecondHandler.class);
+    }
+
+    @Test
+    public void shouldNotResolveAmbiguousImplementations() {
+        assertThat(discover(AmbiguousFixture.class)).doesNotContain(FirstHandler.class, SecondHandler.class);
+    }
+
+    @Test
+    public void shouldNotResolveIfDisabled() {
+        System.clearProperty(RESOLVE);
+
+        assertThat(discover(InstanceFixture.class)).doesNotContain(FirstHandler.class, SecondHandler.class);
+    }
+
+    private static Set<Class<?>> discover(Class<?> testClass) {
+        return WeldHelper.discover(new TestConfiguration(testClass, null)).getDiscoveredClasses();
+    }
+
+    interface Handler {
+    }
+
+    static class FirstHandler implements Handler {
+    }
+
+    @Named("second")
+    static class SecondHandler implements Handler {
+    }
+
+    abstract static class AbstractRepository {
+    }
+
+    static class JpaRepository extends AbstractRepository {
+    }
+
+    static class InstanceFixture {
+
+        @Inject
+        Instance<Handler> handlers;
+
+    }
+
+    static class ProviderFixture {
+
+        @Inject
+        Provider<Handler> handler;
+
+    }
+
+    static class AbstractFixture {
+
+        @Inject
+        AbstractRepository repository;
+
+    }
+
+    static class QualifiedFixture {
+
+        @Inject
+        @Named("second")
+        Handler handler;
+
+    }
+
+    static class AmbiguousFixture {
+
+        @Inject
+        Handler handler;
+
+    }
+
+}
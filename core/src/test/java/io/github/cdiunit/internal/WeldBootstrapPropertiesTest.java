@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.internal;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.github.cdiunit.WeldProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WeldBootstrapPropertiesTest {
+
+    private static final String THRESHOLD = CdiUnitProperties.PREFIX
+            + WeldBootstrapProperties.CONCURRENT_THRESHOLD_PROPERTY;
+
+    @After
+    public void tearDown() {
+        System.clearProperty(THRESHOLD);
+    }
+
+    @Test
+    public void shouldKeepWeldDefaultsWithoutThreshold() {
+        assertThat(WeldBootstrapProperties.resolve(Plain.class, 1))
+                .doesNotContainKeys(WeldBootstrapProperties.CONCURRENT_DEPLOYMENT, WeldBootstrapProperties.THREAD_POOL_TYPE);
+        assertThat(WeldBootstrapProperties.resolve(Plain.class, 100_000))
+                .doesNotContainKeys(WeldBootstrapProperties.CONCURRENT_DEPLOYMENT, WeldBootstrapProperties.THREAD_POOL_TYPE);
+    }
+
+    @Test
+    public void shouldDeployConcurrentlyFromThreshold() {
+        System.setProperty(THRESHOLD, "10");
+
+        assertThat(WeldBootstrapProperties.resolve(Plain.class, 9))
+                .containsEntry(WeldBootstrapProperties.CONCURRENT_DEPLOYMENT, false);
+        assertThat(WeldBootstrapProperties.resolve(Plain.class, 10))
+                .containsEntry(WeldBootstrapProperties.CONCURRENT_DEPLOYMENT, true)
+                .containsEntry(WeldBootstrapProperties.THREAD_POOL_TYPE, "COMMON");
+    }
+
+    @Test
+    public void shouldPreferAnnotations() {
+        assertThat(WeldBootstrapProperties.resolve(Annotated.class, 1))
+                .containsEntry(WeldBootstrapProperties.CONCURRENT_DEPLOYMENT, true);
+    }
+
+    static class Plain {
+    }
+
+    @WeldProperty(name = WeldBootstrapProperties.CONCURRENT_DEPLOYMENT, value = "true")
+    static class Annotated {
+    }
+
+}
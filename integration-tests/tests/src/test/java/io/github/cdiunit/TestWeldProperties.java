@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit;
+
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.inject.Inject;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(CdiRunner.class)
+@WeldProperty(name = "org.jboss.weld.executor.threadPoolType", value = "SINGLE_THREAD")
+public class TestWeldProperties {
+
+    @Inject
+    private BeanManager beanManager;
+
+    @Test
+    public void testAnnotationProperty() {
+        assertThat(configuration().getStringProperty(ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE))
+                .isEqualTo("SINGLE_THREAD");
+    }
+
+    @Test
+    public void testConcurrentDeploymentIsNotOverridden() {
+        assertThat(configuration().getBooleanProperty(ConfigurationKey.CONCURRENT_DEPLOYMENT))
+                .isEqualTo(ConfigurationKey.CONCURRENT_DEPLOYMENT.getDefaultValue());
+    }
+
+    private WeldConfiguration configuration() {
+        return BeanManagerProxy.unwrap(beanManager).getServices().get(WeldConfiguration.class);
+    }
+
+}
@@ -17,9 +17,13 @@ package io.github.cdiunit.junit5;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 import jakarta.enterprise.inject.spi.AnnotatedType;
 import jakarta.enterprise.inject.spi.BeanManager;
@@ -28,46 +32,212 @@ import jakarta.enterprise.inject.spi.InjectionTarget;
 import org.jboss.weld.environment.se.Weld;
 import org.jboss.weld.environment.se.WeldContainer;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.*;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.platform.commons.util.AnnotationUtils;
 
 import io.github.cdiunit.IsolationLevel;
 import io.github.cdiunit.internal.BeanLifecycleHelper;
+import io.github.cdiunit.internal.ContainerPreloader;
+import io.github.cdiunit.internal.ContainerReset;
+import io.github.cdiunit.internal.ContainerShutdown;
 import io.github.cdiunit.internal.ExceptionUtils;
+import io.github.cdiunit.internal.NonContextualInstance;
+import io.github.cdiunit.internal.SharedContainerPool;
 import io.github.cdiunit.internal.TestConfiguration;
 import io.github.cdiunit.internal.WeldHelper;
+import io.github.cdiunit.internal.jfr.InjectionEvent;
 import io.github.cdiunit.junit5.internal.ActivateScopes;
 import io.github.cdiunit.junit5.internal.JUnit5InvocationContext;
+import io.github.cdiunit.junit5.internal.ThreadBoundTestConfiguration;
 
+/**
+ * JUnit Jupiter extension running tests in the Weld container.
+ * <p>
+ * The state of test classes and test method invocations is kept in the {@link ExtensionContext.Store} and is torn
+ * down with the owning extension context, so test classes and test methods may run concurrently. Containers of
+ * {@link IsolationLevel#PER_METHOD} test classes are created per test instance, test methods of
+ * {@link IsolationLevel#PER_METHOD_RESET} test classes are serialized to keep the reset from affecting concurrently
+ * running test methods. A {@link TestInstance.Lifecycle#PER_CLASS} test instance of a
+ * {@link IsolationLevel#PER_METHOD} test class shares its container with all test methods, such test methods are
+ * rejected when run concurrently.
+ */
 public class CdiJUnit5Extension implements TestInstanceFactory,
         BeforeEachCallback, BeforeAllCallback,
         AfterEachCallback, AfterAllCallback, InvocationInterceptor {
 
-    static class TestContext {
-        TestConfiguration testConfiguration;
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace
+            .create(CdiJUnit5Extension.class);
+
+    /**
+     * State of the test class: the container shared by test methods and the test instances created.
+     */
+    static class TestContext implements ExtensionContext.Store.CloseableResource {
+        final Class<?> testClass;
+        final TestConfiguration testConfiguration;
+        final ThreadLocal<AtomicBoolean> contextsActivated = ThreadLocal.withInitial(AtomicBoolean::new);
+        final Map<Object, TestInvocation> invocations = Collections.synchronizedMap(new IdentityHashMap<>());
+        final ReentrantLock resetLock = new ReentrantLock();
+
         Weld weld;
         WeldContainer container;
-        AtomicBoolean contextsActivated = new AtomicBoolean();
+        SharedContainerPool.Lease sharedContainer;
+        volatile Throwable startupException;
+        private boolean closed;
+
+        TestContext(Class<?> testClass) {
+            this.testClass = testClass;
+            this.testConfiguration = new ThreadBoundTestConfiguration(testClass);
+        }
+
+        IsolationLevel getIsolationLevel() {
+            return testConfiguration.getIsolationLevel();
+        }
+
+        private synchronized void initWeld() {
+            if (weld != null || sharedContainer != null) {
+                return;
+            }
+
+            if (getIsolationLevel() == IsolationLevel.SHARED) {
+                sharedContainer = SharedContainerPool.INSTANCE.acquire(testConfiguration);
+                container = sharedContainer.getContainer();
+                return;
+            }
+
+            weld = WeldHelper.configureWeld(testConfiguration);
+            container = WeldHelper.initialize(weld, testConfiguration);
+        }
+
+        private synchronized void shutdownWeld() {
+            if (sharedContainer != null) {
+                sharedContainer.close();
+                sharedContainer = null;
+                container = null;
+            }
+            if (weld != null) {
+                ContainerShutdown.INSTANCE.shutdown(weld, testClass);
+                weld = null;
+                container = null;
+            }
+        }
+
+        TestInvocation newInvocation() {
+            if (getIsolationLevel() == IsolationLevel.PER_METHOD) {
+                return new TestInvocation(this, new TestConfiguration(testClass, null));
+            }
+            return new TestInvocation(this, testConfiguration);
+        }
+
+        void beforeTestClass() {
+            if (getIsolationLevel() != IsolationLevel.PER_METHOD) {
+                initWeld();
+            } else {
+                ContainerPreloader.INSTANCE.preload(testConfiguration);
+            }
+        }
+
+        void afterTestClass() throws Exception {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            try {
+                final List<TestInvocation> remaining;
+                synchronized (invocations) {
+                    remaining = new ArrayList<>(invocations.values());
+                    invocations.clear();
+                }
+                for (TestInvocation invocation : remaining) {
+                    invocation.close();
+                }
+                if (getIsolationLevel() != IsolationLevel.PER_METHOD) {
+                    shutdownWeld();
+                } else {
+                    ContainerPreloader.INSTANCE.discard(testClass);
+                }
+            } finally {
+                ContainerShutdown.INSTANCE.await(testClass);
+            }
+        }
+
+        @Override
+        public void close() throws Exception {
+            afterTestClass();
+        }
+
+    }
 
+    /**
+     * State of the test instance: the container of {@link IsolationLevel#PER_METHOD} test classes and the disposal
+     * of the test instance.
+     */
+    static class TestInvocation implements ExtensionContext.Store.CloseableResource {
+        final TestContext testContext;
+        final TestConfiguration testConfiguration;
+
+        Weld weld;
+        WeldContainer container;
         boolean needsExplicitInterceptorInvocation;
         AutoCloseable instanceDisposer;
-        Throwable startupException;
+        private boolean locked;
+
+        TestInvocation(TestContext testContext, TestConfiguration testConfiguration) {
+            this.testContext = testContext;
+            this.testConfiguration = testConfiguration;
+        }
+
+        private boolean isPerMethod() {
+            return testContext.getIsolationLevel() == IsolationLevel.PER_METHOD;
+        }
 
         private void initWeld() {
+            if (!isPerMethod()) {
+                testContext.initWeld();
+                synchronized (testContext) {
+                    container = testContext.container;
+                }
+                return;
+            }
             if (weld != null) {
                 return;
             }
 
-            weld = WeldHelper.configureWeld(testConfiguration);
-            container = weld.initialize();
+            final ContainerPreloader.PreloadedContainer preloaded = ContainerPreloader.INSTANCE.take(testConfiguration);
+            if (preloaded != null) {
+                weld = preloaded.getWeld();
+                container = preloaded.getContainer();
+            } else {
+                weld = WeldHelper.configureWeld(testConfiguration);
+                container = WeldHelper.initialize(weld, testConfiguration);
+            }
+            // the next test method takes the container initialized while this one runs
+            ContainerPreloader.INSTANCE.preload(testConfiguration);
         }
 
         private Object createTest(Object outerInstance) throws Throwable {
+            final Throwable startupException = testContext.startupException;
             if (startupException != null) {
                 throw startupException;
             }
+            initWeld();
+            final InjectionEvent event = new InjectionEvent();
+            event.begin();
+            final Object testInstance = createInstance(outerInstance);
+            event.setTest(testConfiguration);
+            event.commitWithTest();
+            return testInstance;
+        }
+
+        private Object createInstance(Object outerInstance) throws Throwable {
             final Class<?> testClass = testConfiguration.getTestClass();
             if (outerInstance == null) {
+                if (!isPerMethod() && !isTestClassDeployed()) {
+                    return createNonContextualTest(testClass);
+                }
                 return container.select(testClass).get();
             }
 
@@ -101,41 +271,44 @@ public class CdiJUnit5Extension implements TestInstanceFactory,
             throw new IllegalStateException(String.format("Don't know how to instantiate %s", testClass));
         }
 
-        private void shutdownWeld() throws Exception {
-            if (instanceDisposer != null) {
-                instanceDisposer.close();
-                instanceDisposer = null;
-            }
-            if (weld != null) {
-                weld.shutdown();
-                weld = null;
-                container = null;
+        private boolean isTestClassDeployed() {
+            synchronized (testContext) {
+                return testContext.sharedContainer == null || testContext.sharedContainer.isTestClassDeployed();
             }
         }
 
-        void beforeTestClass() {
-            if (testConfiguration.getIsolationLevel() == IsolationLevel.PER_CLASS) {
-                initWeld();
-            }
+        private Object createNonContextualTest(Class<?> testClass) {
+            var testInstance = NonContextualInstance.create(container.getBeanManager(), testClass);
+            instanceDisposer = testInstance;
+            return testInstance.get();
         }
 
-        void afterTestClass() throws Exception {
-            if (testConfiguration.getIsolationLevel() == IsolationLevel.PER_CLASS) {
-                shutdownWeld();
+        void beforeTestMethod(Method method) {
+            if (testContext.getIsolationLevel() == IsolationLevel.PER_METHOD_RESET) {
+                // the reset affects all test methods using the container
+                testContext.resetLock.lock();
+                locked = true;
             }
-        }
-
-        void beforeTestMethod() {
-            if (testConfiguration.getIsolationLevel() == IsolationLevel.PER_METHOD) {
+            testConfiguration.setTestMethod(method);
+            if (isPerMethod()) {
                 initWeld();
             }
         }
 
         void afterTestMethod() throws Exception {
-            if (testConfiguration.getIsolationLevel() == IsolationLevel.PER_METHOD) {
-                shutdownWeld();
+            try {
+                if (isPerMethod()) {
+                    close();
+                } else if (testContext.getIsolationLevel() == IsolationLevel.PER_METHOD_RESET && container != null) {
+                    ContainerReset.reset(container.getBeanManager());
+                }
+            } finally {
+                testConfiguration.setTestMethod(null);
+                if (locked) {
+                    locked = false;
+                    testContext.resetLock.unlock();
+                }
             }
-            testConfiguration.setTestMethod(null);
         }
 
         BeanManager getBeanManager() {
@@ -152,37 +325,68 @@ public class CdiJUnit5Extension implements TestInstanceFactory,
                 interceptingInvocation.configure(getBeanManager());
                 invocation = interceptingInvocation;
             }
-            invocation = new ActivateScopes(invocation, testConfiguration, contextsActivated, this::getBeanManager);
+            invocation = new ActivateScopes(invocation, testConfiguration, testContext.contextsActivated.get(),
+                    this::getBeanManager);
             invocation.proceed();
         }
+
+        @Override
+        public void close() throws Exception {
+            try {
+                if (instanceDisposer != null) {
+                    instanceDisposer.close();
+                    instanceDisposer = null;
+                }
+            } finally {
+                if (weld != null) {
+                    ContainerShutdown.INSTANCE.shutdown(weld, testContext.testClass);
+                    weld = null;
+                    container = null;
+                }
+            }
+        }
+
     }
 
-    private final Map<Class<?>, TestContext> testContexts = new ConcurrentHashMap<>();
+    private static ExtensionContext classContext(ExtensionContext context) {
+        var classContext = context;
+        while (classContext.getTestMethod().isPresent()) {
+            classContext = classContext.getParent().orElseThrow();
+        }
+        return classContext;
+    }
 
-    private TestContext initialTestContext(Class<?> testClass) {
-        return testContexts.computeIfAbsent(testClass, aClass -> {
-            var testContext = new TestContext();
-            testContext.testConfiguration = new TestConfiguration(aClass, null);
+    private static TestContext testContext(ExtensionContext context, Class<?> testClass) {
+        return classContext(context).getStore(NAMESPACE)
+                .getOrComputeIfAbsent(testClass, TestContext::new, TestContext.class);
+    }
 
-            return testContext;
-        });
+    private static TestContext requiredTestContext(ExtensionContext context) {
+        return testContext(context, context.getRequiredTestClass());
     }
 
-    private TestContext requiredTestContext(ExtensionContext context) {
-        final Class<?> testClass = context.getRequiredTestClass();
-        var testContext = initialTestContext(testClass);
-        context.getTestMethod().ifPresent(testContext.testConfiguration::setTestMethod);
-        return testContext;
+    private static TestInvocation requiredTestInvocation(ExtensionContext context) {
+        var invocation = context.getStore(NAMESPACE).get(TestInvocation.class, TestInvocation.class);
+        if (invocation == null) {
+            invocation = requiredTestContext(context).invocations.get(context.getRequiredTestInstance());
+        }
+        if (invocation == null) {
+            throw new IllegalStateException(
+                    String.format("Test instance of %s is not created by CDI-Unit", context.getRequiredTestClass()));
+        }
+        return invocation;
     }
 
     @Override
     public Object createTestInstance(TestInstanceFactoryContext factoryContext, ExtensionContext extensionContext)
             throws TestInstantiationException {
-        var testContext = initialTestContext(factoryContext.getTestClass());
+        var testContext = testContext(extensionContext, factoryContext.getTestClass());
         var outerInstance = factoryContext.getOuterInstance().orElse(null);
+        var invocation = testContext.newInvocation();
         try {
-            testContext.initWeld();
-            return testContext.createTest(outerInstance);
+            var testInstance = invocation.createTest(outerInstance);
+            testContext.invocations.put(testInstance, invocation);
+            return testInstance;
         } catch (Throwable t) {
             testContext.startupException = t;
             throw new TestInstantiationException(t.getMessage(), t);
@@ -204,20 +408,85 @@ public class CdiJUnit5Extension implements TestInstanceFactory,
     @Override
     public void beforeEach(ExtensionContext context) throws Exception {
         var testContext = requiredTestContext(context);
-        testContext.beforeTestMethod();
+        var testInstance = context.getRequiredTestInstance();
+        var invocation = testContext.invocations.get(testInstance);
+        if (invocation == null) {
+            throw new IllegalStateException(
+                    String.format("Test instance of %s is not created by CDI-Unit", context.getRequiredTestClass()));
+        }
+        if (!isPerMethodLifecycle(context) && testContext.getIsolationLevel() == IsolationLevel.PER_METHOD
+                && context.getExecutionMode() == ExecutionMode.CONCURRENT) {
+            // the first test method to finish would shut down the container still used by the others
+            throw new ExtensionConfigurationException(String.format(
+                    "%s with the PER_CLASS test instance lifecycle and IsolationLevel.PER_METHOD can't run test methods concurrently",
+                    context.getRequiredTestClass().getName()));
+        }
+        if (isPerMethodLifecycle(context)) {
+            // the instance is not reused, the test method owns it
+            testContext.invocations.remove(testInstance);
+            ownEnclosingInvocations(context);
+            context.getStore(NAMESPACE).put(TestInvocation.class, invocation);
+        }
+        invocation.beforeTestMethod(context.getRequiredTestMethod());
+    }
+
+    private static boolean isPerMethodLifecycle(ExtensionContext context) {
+        return context.getTestInstanceLifecycle().orElse(null) == TestInstance.Lifecycle.PER_METHOD;
+    }
+
+    /**
+     * Move invocations of the enclosing instances created for the nested test method to the test method store.
+     */
+    private static void ownEnclosingInvocations(ExtensionContext context) {
+        final List<TestInvocation> owned = new ArrayList<>();
+        for (Object enclosingInstance : context.getRequiredTestInstances().getEnclosingInstances()) {
+            var parent = classContext(context).getParent().orElse(null);
+            while (parent != null && parent.getTestClass().isPresent()) {
+                var testContext = parent.getStore(NAMESPACE).get(parent.getRequiredTestClass(), TestContext.class);
+                if (testContext != null && isPerMethodLifecycle(parent)) {
+                    var invocation = testContext.invocations.remove(enclosingInstance);
+                    if (invocation != null) {
+                        owned.add(invocation);
+                        break;
+                    }
+                }
+                parent = parent.getParent().orElse(null);
+            }
+        }
+        if (!owned.isEmpty()) {
+            context.getStore(NAMESPACE).put(EnclosingInvocations.class, new EnclosingInvocations(owned));
+        }
+    }
+
+    private static final class EnclosingInvocations implements ExtensionContext.Store.CloseableResource {
+
+        private final List<TestInvocation> invocations;
+
+        EnclosingInvocations(List<TestInvocation> invocations) {
+            this.invocations = invocations;
+        }
+
+        @Override
+        public void close() throws Exception {
+            // innermost first
+            for (int i = invocations.size() - 1; i >= 0; i--) {
+                invocations.get(i).close();
+            }
+        }
+
     }
 
     @Override
     public void afterEach(ExtensionContext context) throws Exception {
-        var testContext = requiredTestContext(context);
-        testContext.afterTestMethod();
+        var invocation = requiredTestInvocation(context);
+        invocation.afterTestMethod();
     }
 
     @Override
     public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
             ExtensionContext extensionContext) throws Throwable {
-        var testContext = requiredTestContext(extensionContext);
-        testContext.interceptTestMethod(invocation, invocationContext);
+        var testInvocation = requiredTestInvocation(extensionContext);
+        testInvocation.interceptTestMethod(invocation, invocationContext);
     }
 
 }
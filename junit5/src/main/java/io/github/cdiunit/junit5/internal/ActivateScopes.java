@@ -52,7 +52,7 @@ public class ActivateScopes implements InvocationInterceptor.Invocation<Void> {
             }
             return next.proceed();
         } finally {
-            if (contextsActivated.get() && isolationLevel == IsolationLevel.PER_METHOD) {
+            if (contextsActivated.get() && isolationLevel != IsolationLevel.PER_CLASS) {
                 contextsActivated.set(false);
                 ScopesHelper.deactivateContexts(beanManager.get(), method);
             }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.junit5.internal;
+
+import java.lang.reflect.Method;
+
+import io.github.cdiunit.internal.TestConfiguration;
+
+/**
+ * Test configuration shared by concurrently running test methods, the test method is bound to the running thread.
+ */
+public class ThreadBoundTestConfiguration extends TestConfiguration {
+
+    private final ThreadLocal<Method> testMethod = new ThreadLocal<>();
+
+    public ThreadBoundTestConfiguration(Class<?> testClass) {
+        super(testClass, null);
+    }
+
+    @Override
+    public Method getTestMethod() {
+        return testMethod.get();
+    }
+
+    @Override
+    public void setTestMethod(Method testMethod) {
+        if (testMethod == null) {
+            this.testMethod.remove();
+        } else {
+            this.testMethod.set(testMethod);
+        }
+    }
+
+}
@@ -208,4 +208,89 @@ class TestInstanceIsolation {
 
     }
 
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_METHOD)
+    @Isolation(IsolationLevel.PER_METHOD_RESET)
+    class PerMethodTestResetWeld {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Inject
+        ApplicationCounter applicationCounter;
+
+        @BeforeEach
+        void initialCounter() {
+            assertThat(counter.get()).as("instance counter").isEqualTo(0);
+        }
+
+        @Test
+        void step1() {
+            int number = applicationCounter.incrementAndGet();
+            assertThat(number).as("application counter").isEqualTo(counter.incrementAndGet());
+            number = applicationCounter.incrementAndGet();
+            assertThat(number).as("application counter").isEqualTo(counter.incrementAndGet());
+        }
+
+        @Test
+        void step2() {
+            int number = applicationCounter.incrementAndGet();
+            assertThat(number).as("application counter").isEqualTo(counter.incrementAndGet());
+            number = applicationCounter.incrementAndGet();
+            assertThat(number).as("application counter").isEqualTo(counter.incrementAndGet());
+        }
+
+        @Test
+        void step3() {
+            int number = applicationCounter.incrementAndGet();
+            assertThat(number).as("application counter").isEqualTo(counter.incrementAndGet());
+            number = applicationCounter.incrementAndGet();
+            assertThat(number).as("application counter").isEqualTo(counter.incrementAndGet());
+        }
+
+    }
+
+    private static final AtomicInteger sharedCounter = new AtomicInteger();
+
+    @Nested
+    @Isolation(IsolationLevel.SHARED)
+    class SharedWeld1 {
+
+        @Inject
+        ApplicationCounter applicationCounter;
+
+        @Test
+        void step1() {
+            int number = applicationCounter.incrementAndGet();
+            assertThat(number).as("application counter").isEqualTo(sharedCounter.incrementAndGet());
+        }
+
+        @Test
+        void step2() {
+            int number = applicationCounter.incrementAndGet();
+            assertThat(number).as("application counter").isEqualTo(sharedCounter.incrementAndGet());
+        }
+
+    }
+
+    @Nested
+    @Isolation(IsolationLevel.SHARED)
+    class SharedWeld2 {
+
+        @Inject
+        ApplicationCounter applicationCounter;
+
+        @Test
+        void step1() {
+            int number = applicationCounter.incrementAndGet();
+            assertThat(number).as("application counter").isEqualTo(sharedCounter.incrementAndGet());
+        }
+
+        @Test
+        void step2() {
+            int number = applicationCounter.incrementAndGet();
+            assertThat(number).as("application counter").isEqualTo(sharedCounter.incrementAndGet());
+        }
+
+    }
+
 }
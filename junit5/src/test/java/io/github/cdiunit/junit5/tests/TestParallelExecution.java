@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.junit5.tests;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import io.github.cdiunit.ActivateScopes;
+import io.github.cdiunit.Isolation;
+import io.github.cdiunit.IsolationLevel;
+import io.github.cdiunit.junit5.CdiJUnit5Extension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+
+@ExtendWith(CdiJUnit5Extension.class)
+@Execution(ExecutionMode.CONCURRENT)
+class TestParallelExecution {
+
+    private static final int TEST_METHODS = 3;
+
+    @ApplicationScoped
+    static class ApplicationCounter {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        int incrementAndGet() {
+            return counter.incrementAndGet();
+        }
+
+        ApplicationCounter self() {
+            return this;
+        }
+
+    }
+
+    /**
+     * Blocks until all test methods of the test class are running.
+     */
+    static void awaitAll(CountDownLatch running) throws InterruptedException {
+        running.countDown();
+        assertThat(running.await(30, TimeUnit.SECONDS)).as("all test methods are running").isTrue();
+    }
+
+    private static final CountDownLatch perMethodRunning = new CountDownLatch(TEST_METHODS);
+
+    private static final Set<ApplicationCounter> perMethodCounters = Collections
+            .synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    @Nested
+    @Isolation(IsolationLevel.PER_METHOD)
+    class PerMethodWeld {
+
+        @Inject
+        ApplicationCounter applicationCounter;
+
+        private void step() throws InterruptedException {
+            perMethodCounters.add(applicationCounter.self());
+            awaitAll(perMethodRunning);
+            assertThat(perMethodCounters).as("containers of the test methods").hasSize(TEST_METHODS);
+            assertThat(applicationCounter.incrementAndGet()).as("application counter").isEqualTo(1);
+            assertThat(applicationCounter.incrementAndGet()).as("application counter").isEqualTo(2);
+        }
+
+        @Test
+        void step1() throws InterruptedException {
+            step();
+        }
+
+        @Test
+        void step2() throws InterruptedException {
+            step();
+        }
+
+        @Test
+        void step3() throws InterruptedException {
+            step();
+        }
+
+    }
+
+    @Nested
+    @Isolation(IsolationLevel.PER_METHOD_RESET)
+    class ResetWeld {
+
+        @Inject
+        ApplicationCounter applicationCounter;
+
+        @Test
+        void step1() {
+            assertThat(applicationCounter.incrementAndGet()).as("application counter").isEqualTo(1);
+            assertThat(applicationCounter.incrementAndGet()).as("application counter").isEqualTo(2);
+        }
+
+        @Test
+        void step2() {
+            assertThat(applicationCounter.incrementAndGet()).as("application counter").isEqualTo(1);
+            assertThat(applicationCounter.incrementAndGet()).as("application counter").isEqualTo(2);
+        }
+
+        @Test
+        void step3() {
+            assertThat(applicationCounter.incrementAndGet()).as("application counter").isEqualTo(1);
+            assertThat(applicationCounter.incrementAndGet()).as("application counter").isEqualTo(2);
+        }
+
+    }
+
+    private static final CountDownLatch perClassRunning = new CountDownLatch(TEST_METHODS);
+
+    private static final Set<ApplicationCounter> perClassCounters = Collections
+            .synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    @Nested
+    @Isolation(IsolationLevel.PER_CLASS)
+    @ActivateScopes(RequestScoped.class)
+    class PerClassWeld {
+
+        @Inject
+        ApplicationCounter applicationCounter;
+
+        @Inject
+        BRequestScoped requestScoped;
+
+        private void step(String foo) throws InterruptedException {
+            perClassCounters.add(applicationCounter.self());
+            requestScoped.setFoo(foo);
+            awaitAll(perClassRunning);
+            assertThat(perClassCounters).as("containers of the test methods").hasSize(1);
+            assertThat(requestScoped.getFoo()).isEqualTo(foo);
+        }
+
+        @Test
+        void step1() throws InterruptedException {
+            step("step1");
+        }
+
+        @Test
+        void step2() throws InterruptedException {
+            step("step2");
+        }
+
+        @Test
+        void step3() throws InterruptedException {
+            step("step3");
+        }
+
+    }
+
+    @Test
+    void shouldRejectConcurrentTestMethodsSharingPerMethodContainer() {
+        EngineTestKit.engine("junit-jupiter")
+                .configurationParameter("junit.jupiter.execution.parallel.enabled", "true")
+                .selectors(selectClass(PerClassTestPerMethodWeld.class))
+                .execute()
+                .testEvents()
+                .assertThatEvents()
+                .haveExactly(TEST_METHODS, finishedWithFailure(instanceOf(ExtensionConfigurationException.class),
+                        message(m -> m.contains("IsolationLevel.PER_METHOD"))));
+    }
+
+    /**
+     * Executed by {@link #shouldRejectConcurrentTestMethodsSharingPerMethodContainer()} only.
+     */
+    @ExtendWith(CdiJUnit5Extension.class)
+    @Execution(ExecutionMode.CONCURRENT)
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    @Isolation(IsolationLevel.PER_METHOD)
+    static class PerClassTestPerMethodWeld {
+
+        @Inject
+        ApplicationCounter applicationCounter;
+
+        @Test
+        void step1() {
+            applicationCounter.incrementAndGet();
+        }
+
+        @Test
+        void step2() {
+            applicationCounter.incrementAndGet();
+        }
+
+        @Test
+        void step3() {
+            applicationCounter.incrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.maven;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Precomputes the discovery of the CDI-Unit test classes.
+ * <p>
+ * The discovery runs against the test class path of the project, using the CDI-Unit version the tests depend on.
+ * The results are stored in {@code META-INF/cdi-unit} of the test output directory and used by the tests
+ * while the bean archives they were computed from are unchanged.
+ */
+@Mojo(name = "precompute-discovery", defaultPhase = LifecyclePhase.PROCESS_TEST_CLASSES, requiresDependencyResolution = ResolutionScope.TEST, threadSafe = true)
+public class PrecomputeDiscoveryMojo extends AbstractMojo {
+
+    private static final String GENERATOR_CLASS = "io.github.cdiunit.internal.PrecomputedDiscovery";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * Test classes to precompute the discovery for, all CDI-Unit test classes if not set.
+     */
+    @Parameter
+    private List<String> testClasses;
+
+    @Parameter(property = "cdi-unit.precompute.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Parameter(property = "maven.test.skip", defaultValue = "false")
+    private boolean skipTests;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip || skipTests) {
+            getLog().info("Skipping the discovery precomputation");
+            return;
+        }
+        final Path testOutputDirectory = Paths.get(project.getBuild().getTestOutputDirectory());
+        if (!Files.isDirectory(testOutputDirectory)) {
+            getLog().debug("No test classes in " + testOutputDirectory);
+            return;
+        }
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(getTestClasspath(), ClassLoader.getPlatformClassLoader())) {
+            thread.setContextClassLoader(classLoader);
+            final Method generate = classLoader.loadClass(GENERATOR_CLASS)
+                    .getMethod("generate", Path.class, Collection.class);
+            final Object stored = generate.invoke(null, testOutputDirectory,
+                    testClasses == null ? List.of() : testClasses);
+            getLog().info("Precomputed the discovery of " + stored + " test classes");
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new MojoExecutionException("CDI-Unit is not on the test class path or does not support"
+                    + " the discovery precomputation", e);
+        } catch (InvocationTargetException e) {
+            throw new MojoExecutionException("Unable to precompute the discovery", e.getCause());
+        } catch (Exception e) {
+            throw new MojoExecutionException("Unable to precompute the discovery", e);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private URL[] getTestClasspath() throws DependencyResolutionRequiredException, MalformedURLException {
+        final List<URL> urls = new ArrayList<>();
+        for (String element : project.getTestClasspathElements()) {
+            urls.add(new File(element).toURI().toURL());
+        }
+        return urls.toArray(new URL[0]);
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.cdiunit.maven;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PrecomputeDiscoveryMojoTest {
+
+    private Path testClasses;
+
+    private Path file;
+
+    @Before
+    public void setUp() throws Exception {
+        testClasses = Paths.get(Fixture.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        file = testClasses.resolve("META-INF/cdi-unit").resolve(Fixture.class.getName() + ".discovery");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void shouldStoreDiscoveryOfTestClasses() throws Exception {
+        final PrecomputeDiscoveryMojo mojo = mojo(testClasses, classpath());
+        set(mojo, "testClasses", List.of(Fixture.class.getName()));
+
+        mojo.execute();
+
+        assertThat(file).exists();
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8))
+                .contains("bean=" + Fixture.class.getName(), "bean=" + Dependency.class.getName());
+    }
+
+    @Test
+    public void shouldSkip() throws Exception {
+        final PrecomputeDiscoveryMojo mojo = mojo(testClasses, classpath());
+        set(mojo, "testClasses", List.of(Fixture.class.getName()));
+        set(mojo, "skip", true);
+
+        mojo.execute();
+
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    public void shouldIgnoreMissingTestClasses() throws Exception {
+        final Path missing = testClasses.resolve("missing");
+
+        mojo(missing, classpath()).execute();
+
+        assertThat(missing).doesNotExist();
+    }
+
+    @Test
+    public void shouldFailWithoutCdiUnitOnTestClasspath() throws Exception {
+        final PrecomputeDiscoveryMojo mojo = mojo(testClasses, List.of(testClasses.toString()));
+
+        assertThatThrownBy(mojo::execute)
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("CDI-Unit is not on the test class path");
+    }
+
+    private static List<String> classpath() {
+        return Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator));
+    }
+
+    private static PrecomputeDiscoveryMojo mojo(Path testOutputDirectory, List<String> testClasspath) throws Exception {
+        final MavenProject project = new MavenProject() {
+
+            @Override
+            public List<String> getTestClasspathElements() {
+                return testClasspath;
+            }
+
+        };
+        project.getBuild().setTestOutputDirectory(testOutputDirectory.toString());
+        final PrecomputeDiscoveryMojo mojo = new PrecomputeDiscoveryMojo();
+        set(mojo, "project", project);
+        return mojo;
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        final Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    public static class Fixture {
+
+        @Inject
+        Dependency dependency;
+
+    }
+
+    public static class Dependency {
+    }
+
+}